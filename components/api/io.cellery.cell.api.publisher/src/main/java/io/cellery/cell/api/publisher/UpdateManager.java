@@ -19,7 +19,6 @@
 package io.cellery.cell.api.publisher;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cellery.cell.api.publisher.beans.controller.API;
 import io.cellery.cell.api.publisher.beans.controller.APIMConfig;
 import io.cellery.cell.api.publisher.beans.controller.ApiDefinition;
@@ -34,21 +33,32 @@ import io.cellery.cell.api.publisher.beans.request.Parameter;
 import io.cellery.cell.api.publisher.beans.request.PathDefinition;
 import io.cellery.cell.api.publisher.beans.request.PathsMapping;
 import io.cellery.cell.api.publisher.beans.request.ProductionEndpoint;
+import io.cellery.cell.api.publisher.beans.response.ApiInfo;
 import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.internals.ApiCatalog;
 import io.cellery.cell.api.publisher.internals.ConfigManager;
+import io.cellery.cell.api.publisher.internals.ReconcileAction;
+import io.cellery.cell.api.publisher.internals.ReconcilePlan;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+import io.cellery.cell.api.publisher.utils.ApimResponse;
 import io.cellery.cell.api.publisher.utils.Constants;
+import io.cellery.cell.api.publisher.utils.HttpClientProvider;
+import io.cellery.cell.api.publisher.utils.JsonCodec;
 import io.cellery.cell.api.publisher.utils.RequestProcessor;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class for create APIs in global API Manager.
@@ -58,24 +68,45 @@ public class UpdateManager {
   private static final Logger log = LoggerFactory.getLogger(UpdateManager.class);
   private static Cell cellConfig;
   private static RestConfig restConfig;
-  private static APIMConfig apimConfig;
+  private static volatile APIMConfig apimConfig;
+  private static volatile ApiCatalog apiCatalog;
 
   public static void main(String[] args) {
     try {
-      // Encode username password to base64
-      restConfig = ConfigManager.getRestConfiguration();
-      cellConfig = ConfigManager.getCellConfiguration();
-
-      manageApis();
+      run();
       log.info("Global API publisher completed successfully..");
     } catch (APIException e) {
       log.error("Error occurred while publishing APIs in Global API manager. " + e.getMessage(), e);
       System.exit(Constants.Utils.ERROR_EXIT_CODE);
+    } finally {
+      HttpClientProvider.close();
     }
   }
 
   /**
-   * Creation, Update and publish APIs in Global API Manager
+   * Set the cell configuration without reading the configuration file. Used by the benchmarks to
+   * generate payloads for synthetic cells.
+   *
+   * @param cell cell configuration
+   */
+  static void setCellConfig(Cell cell) {
+    cellConfig = cell;
+  }
+
+  /**
+   * Load the configuration and manage the APIs of the cell in Global API Manager
+   *
+   * @throws APIException throw API Exception if an error occurred while managing the APIs.
+   */
+  static void run() throws APIException {
+    restConfig = ConfigManager.getRestConfiguration();
+    cellConfig = ConfigManager.getCellConfiguration();
+    manageApis();
+  }
+
+  /**
+   * Creation, Update and publish APIs in Global API Manager. The actions for all global APIs are
+   * planned first and then executed, unless the publisher is configured for a dry run.
    *
    * @throws APIException throw API Exception if an error occurred while managing the API.
    */
@@ -83,24 +114,142 @@ public class UpdateManager {
     if (log.isDebugEnabled()) {
       log.debug("Managing APIs...");
     }
-    List<API> apis = cellConfig.getApis();
+    ReconcilePlan plan = createReconcilePlan();
+    log.info(plan.describe());
+    if (restConfig.isDryRun()) {
+      log.info("Dry run, no changes are made in Global API Manager");
+      return;
+    }
+    executeReconcilePlan(plan);
+  }
 
-    for (API api : apis) {
+  /**
+   * Plan the action for each global API of the cell against the APIs which are already available
+   * in Global API Manager. Only read only calls are made to API Manager.
+   *
+   * @return reconcile plan of the cell
+   * @throws APIException throw API Exception if an error occurred while planning the actions.
+   */
+  static ReconcilePlan createReconcilePlan() throws APIException {
+    List<ReconcileAction> actions = new ArrayList<>();
+    for (API api : cellConfig.getApis()) {
       if (api.isGlobal()) {
-        String existingApiId = getExistingApiId(api);
-
-        if (existingApiId.equals(Constants.Utils.EMPTY_STRING)) {
-          ApiCreateRequest globalApiPayload = createGlobalApiPayload(api);
-          String id = createGlobalApi(globalApiPayload);
-          publishGlobalAPI(id);
-        } else if (abelToCreateNewVersion(api)) {
-          String newApiVersionId = createNewApiVersion(existingApiId, getVersion(api));
-          ApiUpdateRequest globalApiUpdatePayload =
-              createGlobalApiUpdatePayload(api, newApiVersionId);
-          String id = updateGlobalAPI(globalApiUpdatePayload, newApiVersionId);
-          publishGlobalAPI(id);
-        }
+        actions.add(planApi(api));
+      }
+    }
+    return new ReconcilePlan(cellConfig.getCell(), actions);
+  }
+
+  /**
+   * Plan the action which creates, or versions and updates, a single API in Global API Manager.
+   *
+   * @param api API sent by controller
+   * @return action of the API
+   * @throws APIException throw API Exception if an error occurred while checking APIs availability.
+   */
+  private static ReconcileAction planApi(API api) throws APIException {
+    String name = generateAPIName(api);
+    String cellNContext = getCellNContext(api);
+    String version = getVersion(api);
+    String existingApiId = getExistingApiId(api);
+    if (existingApiId.equals(Constants.Utils.EMPTY_STRING)) {
+      return new ReconcileAction(
+          ReconcileAction.Type.CREATE, api, name, cellNContext, version, null);
+    } else if (abelToCreateNewVersion(api)) {
+      return new ReconcileAction(
+          ReconcileAction.Type.VERSION, api, name, cellNContext, version, existingApiId);
+    }
+    return new ReconcileAction(
+        ReconcileAction.Type.EXISTS, api, name, cellNContext, version, null);
+  }
+
+  /**
+   * Execute the reconcile plan. Actions which call API Manager are executed in parallel up to the
+   * configured concurrency.
+   *
+   * @param plan reconcile plan of the cell
+   * @throws APIException throw API Exception if an error occurred while executing any action.
+   */
+  private static void executeReconcilePlan(ReconcilePlan plan) throws APIException {
+    List<ReconcileAction> mutatingActions = plan.getMutatingActions();
+    int concurrency = Math.min(restConfig.getMaxConcurrentApis(), mutatingActions.size());
+    if (concurrency <= 1) {
+      for (ReconcileAction action : mutatingActions) {
+        executeAction(action);
+      }
+    } else {
+      executeActionsConcurrently(mutatingActions, concurrency);
+    }
+  }
+
+  /**
+   * Execute independent actions in parallel. The calls of a single action are still made in order
+   * by one worker.
+   *
+   * @param actions mutating actions to be executed
+   * @param concurrency maximum number of actions executed at the same time
+   * @throws APIException throw API Exception if an error occurred while executing any action.
+   */
+  private static void executeActionsConcurrently(List<ReconcileAction> actions, int concurrency)
+      throws APIException {
+    if (log.isDebugEnabled()) {
+      log.debug("Executing " + actions.size() + " actions with concurrency " + concurrency);
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            concurrency,
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable,
+                      Constants.Utils.WORKER_THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+    try {
+      for (ReconcileAction action : actions) {
+        completionService.submit(
+            () -> {
+              executeAction(action);
+              return null;
+            });
+      }
+      for (int i = 0; i < actions.size(); i++) {
+        // Fail fast on the first API which could not be managed.
+        completionService.take().get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new APIException("Interrupted while managing APIs in Global API Manager", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof APIException) {
+        throw (APIException) e.getCause();
       }
+      throw new APIException("Error occurred while managing APIs in Global API Manager", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Create or version, update and publish a single API in Global API Manager, as planned
+   *
+   * @param action planned action of the API
+   * @throws APIException throw API Exception if an error occurred while managing the API.
+   */
+  private static void executeAction(ReconcileAction action) throws APIException {
+    API api = action.getApi();
+    if (action.getType() == ReconcileAction.Type.CREATE) {
+      ApiCreateRequest globalApiPayload = createGlobalApiPayload(api);
+      String id = createGlobalApi(globalApiPayload);
+      publishGlobalAPI(id);
+    } else if (action.getType() == ReconcileAction.Type.VERSION) {
+      String newApiVersionId = createNewApiVersion(action.getExistingApiId(), action.getVersion());
+      ApiUpdateRequest globalApiUpdatePayload = createGlobalApiUpdatePayload(api, newApiVersionId);
+      String id = updateGlobalAPI(globalApiUpdatePayload, newApiVersionId);
+      publishGlobalAPI(id);
     }
   }
 
@@ -111,7 +260,7 @@ public class UpdateManager {
    * @return JSONArray that contains global API Payload
    * @throws APIException throw API Exception if an error occurred while creating the API.
    */
-  private static ApiCreateRequest createGlobalApiPayload(API api) throws APIException {
+  static ApiCreateRequest createGlobalApiPayload(API api) throws APIException {
     if (log.isDebugEnabled()) {
       log.debug("Creating Global API payload");
     }
@@ -125,12 +274,8 @@ public class UpdateManager {
 
     // Set some additional properties.
     Map<String, String> additionalProperties = new HashMap<>();
-    additionalProperties.put(
-        Constants.Utils.CELL_NAME_PROPERTY,
-        cellConfig.getCell() + "." + cellConfig.getHostname().split("\\.")[1]);
-    additionalProperties.put(
-        Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY,
-        cellConfig.getCell() + getContext(api).replace("/", "_"));
+    additionalProperties.put(Constants.Utils.CELL_NAME_PROPERTY, getCellName());
+    additionalProperties.put(Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY, getCellNContext(api));
     globalApiCreateRequest.setAdditionalProperties(additionalProperties);
 
     return globalApiCreateRequest;
@@ -148,8 +293,7 @@ public class UpdateManager {
       log.debug("Creating Global API in Global API Manager");
     }
     RequestProcessor requestProcessor = new RequestProcessor();
-    ObjectMapper objectMapper = new ObjectMapper();
-    String apiCreateResponse;
+    ApimResponse<ApiInfo> apiCreateResponse;
     String createAPIPath;
     try {
       apimConfig = ConfigManager.getAPIMConfiguration();
@@ -160,26 +304,28 @@ public class UpdateManager {
               + Constants.Utils.PATH_APIS;
       apiCreateResponse =
           requestProcessor.doPost(
+              ApimEndpoint.CREATE,
               createAPIPath,
               Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
               Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
               Constants.Utils.BEARER + apimConfig.getApiToken(),
-              objectMapper.writeValueAsString(createApiPayload));
+              JsonCodec.API_CREATE_REQUEST_WRITER.writeValueAsString(createApiPayload),
+              ApiInfo.class);
     } catch (JsonProcessingException e) {
       throw new APIException("Error while serializing the payload: " + createApiPayload);
     }
 
-    if (apiCreateResponse != null) {
-      if (!(apiCreateResponse.contains(Constants.Utils.DUPLICATE_API_ERROR)
-          || apiCreateResponse.contains(Constants.Utils.DIFFERENT_CONTEXT_ERROR)
-          || apiCreateResponse.contains(Constants.Utils.DUPLICATE_CONTEXT_ERROR))) {
-        JSONObject jsonObj = new JSONObject(apiCreateResponse);
-        return jsonObj.getString(Constants.Utils.ID);
-      }
-    } else {
-      throw new APIException("Error while creating the global API from: " + createAPIPath);
+    if (apiCreateResponse.isSuccess() && apiCreateResponse.getBody() != null) {
+      return apiCreateResponse.getBody().getId();
+    } else if (apiCreateResponse.isDuplicateApi() || apiCreateResponse.isDuplicateContext()) {
+      // skip the error when trying to add the same api or the same api with different context.
+      return Constants.Utils.EMPTY_STRING;
     }
-    return Constants.Utils.EMPTY_STRING;
+    throw new APIException(
+        "Error while creating the global API from: "
+            + createAPIPath
+            + ", "
+            + apiCreateResponse.getErrorMessage());
   }
 
   /**
@@ -194,7 +340,8 @@ public class UpdateManager {
     }
 
     RequestProcessor requestProcessor = new RequestProcessor();
-    String apiPublishResponse;
+    apimConfig = ConfigManager.getAPIMConfiguration();
+    ApimResponse<Void> apiPublishResponse;
     String apiPublishPath =
         restConfig.getApimBaseUrl()
             + Constants.Utils.PATH_PUBLISHER
@@ -205,14 +352,20 @@ public class UpdateManager {
             + "&action=Publish";
     apiPublishResponse =
         requestProcessor.doPost(
+            ApimEndpoint.LIFECYCLE,
             apiPublishPath,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.BEARER + apimConfig.getApiToken(),
-            Constants.Utils.EMPTY_STRING);
+            Constants.Utils.EMPTY_STRING,
+            Void.class);
 
-    if (apiPublishResponse == null) {
-      throw new APIException("Error while publishing the global API with URL: " + apiPublishPath);
+    if (!apiPublishResponse.isSuccess()) {
+      throw new APIException(
+          "Error while publishing the global API with URL: "
+              + apiPublishPath
+              + ", "
+              + apiPublishResponse.getErrorMessage());
     }
   }
 
@@ -231,7 +384,8 @@ public class UpdateManager {
       log.debug("Creating new api version for existing API with Id:" + existingApiId);
     }
     RequestProcessor requestProcessor = new RequestProcessor();
-    String createApiVersionResponse;
+    apimConfig = ConfigManager.getAPIMConfiguration();
+    ApimResponse<ApiInfo> createApiVersionResponse;
     String createApiVersionPath =
         restConfig.getApimBaseUrl()
             + Constants.Utils.PATH_PUBLISHER
@@ -243,18 +397,22 @@ public class UpdateManager {
             + version;
     createApiVersionResponse =
         requestProcessor.doPost(
+            ApimEndpoint.NEW_VERSION,
             createApiVersionPath,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.BEARER + apimConfig.getApiToken(),
-            Constants.Utils.EMPTY_STRING);
+            Constants.Utils.EMPTY_STRING,
+            ApiInfo.class);
 
-    if (createApiVersionResponse != null) {
-      JSONObject jsonObj = new JSONObject(createApiVersionResponse);
-      return jsonObj.getString(Constants.Utils.ID);
+    if (createApiVersionResponse.isSuccess() && createApiVersionResponse.getBody() != null) {
+      return createApiVersionResponse.getBody().getId();
     } else {
       throw new APIException(
-          "Error while creating the new API version with URL: " + createApiVersionPath);
+          "Error while creating the new API version with URL: "
+              + createApiVersionPath
+              + ", "
+              + createApiVersionResponse.getErrorMessage());
     }
   }
 
@@ -279,12 +437,8 @@ public class UpdateManager {
 
     // Set some additional properties.
     Map<String, String> additionalProperties = new HashMap<>();
-    additionalProperties.put(
-            Constants.Utils.CELL_NAME_PROPERTY,
-            cellConfig.getCell() + "." + cellConfig.getHostname().split("\\.")[1]);
-    additionalProperties.put(
-        Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY,
-        cellConfig.getCell() + getContext(api).replace("/", "_"));
+    additionalProperties.put(Constants.Utils.CELL_NAME_PROPERTY, getCellName());
+    additionalProperties.put(Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY, getCellNContext(api));
     globalApiUpdateRequest.setAdditionalProperties(additionalProperties);
 
     return globalApiUpdateRequest;
@@ -303,9 +457,8 @@ public class UpdateManager {
     if (log.isDebugEnabled()) {
       log.debug("Updating Global API in Global API manager");
     }
-    ObjectMapper objectMapper = new ObjectMapper();
     RequestProcessor requestProcessor = new RequestProcessor();
-    String apiUpdateResponse;
+    ApimResponse<ApiInfo> apiUpdateResponse;
     String apiUpdatePath;
     try {
       apimConfig = ConfigManager.getAPIMConfiguration();
@@ -318,22 +471,26 @@ public class UpdateManager {
               + id;
       apiUpdateResponse =
           requestProcessor.doPut(
+              ApimEndpoint.UPDATE,
               apiUpdatePath,
               Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
               Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
               Constants.Utils.BEARER + apimConfig.getApiToken(),
-              objectMapper.writeValueAsString(globalApiUpdatePayload));
+              JsonCodec.API_UPDATE_REQUEST_WRITER.writeValueAsString(globalApiUpdatePayload),
+              ApiInfo.class);
 
     } catch (JsonProcessingException e) {
       throw new APIException("Error while serializing the payload: " + globalApiUpdatePayload);
     }
 
-    if (apiUpdateResponse != null) {
-      JSONObject jsonObj = new JSONObject(apiUpdateResponse);
-      return jsonObj.getString(Constants.Utils.ID);
-
+    if (apiUpdateResponse.isSuccess() && apiUpdateResponse.getBody() != null) {
+      return apiUpdateResponse.getBody().getId();
     } else {
-      throw new APIException("Error while updating the global API from: " + apiUpdatePath);
+      throw new APIException(
+          "Error while updating the global API from: "
+              + apiUpdatePath
+              + ", "
+              + apiUpdateResponse.getErrorMessage());
     }
   }
 
@@ -348,39 +505,7 @@ public class UpdateManager {
     if (log.isDebugEnabled()) {
       log.debug("Getting Id of an API available in Global API Manager");
     }
-
-    RequestProcessor requestProcessor = new RequestProcessor();
-    apimConfig = ConfigManager.getAPIMConfiguration();
-
-    String apiRetrieveQuery =
-        Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY
-            + ":"
-            + (cellConfig.getCell() + getContext(api)).replace("/", "_");
-    String apiRetrievePath =
-        restConfig.getApimBaseUrl()
-            + Constants.Utils.PATH_PUBLISHER
-            + restConfig.getApiVersion()
-            + Constants.Utils.PATH_QUERY
-            + apiRetrieveQuery;
-    log.debug("getExistingApiId path :" + apiRetrievePath);
-    String apiRetrieveResponse =
-        requestProcessor.doGet(
-            apiRetrievePath,
-            Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-            Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-            Constants.Utils.BEARER + apimConfig.getApiToken());
-
-    if (apiRetrieveResponse != null) {
-      JSONObject jsonObj = new JSONObject(apiRetrieveResponse);
-      int apiCount = jsonObj.getInt(Constants.Utils.COUNT);
-      if (apiCount > 0) {
-        return jsonObj.getJSONArray("list").getJSONObject(0).getString("id");
-      }
-    } else {
-      throw new APIException(
-          "Error while retrieving apis from the global API with url " + apiRetrievePath);
-    }
-    return Constants.Utils.EMPTY_STRING;
+    return getApiCatalog().getApiId(getCellNContext(api));
   }
 
   /**
@@ -394,44 +519,23 @@ public class UpdateManager {
     if (log.isDebugEnabled()) {
       log.debug("Checking APIs can be published as a new version in Global API Manager...");
     }
+    return !getApiCatalog().hasVersion(getCellNContext(api), getVersion(api));
+  }
 
-    RequestProcessor requestProcessor = new RequestProcessor();
-
-    apimConfig = ConfigManager.getAPIMConfiguration();
-    String apiRetrieveQuery =
-        Constants.Utils.CELLNAME_N_CONTEXT_PROPERTY
-            + ":"
-            + (cellConfig.getCell() + getContext(api)).replace("/", "_")
-            + " "
-            + Constants.JsonParamNames.VERSION
-            + ":"
-            + getVersion(api);
-    String apiRetrievePath;
-    try {
-      apiRetrievePath =
-          restConfig.getApimBaseUrl()
-              + Constants.Utils.PATH_PUBLISHER
-              + restConfig.getApiVersion()
-              + Constants.Utils.PATH_QUERY
-              + URLEncoder.encode(apiRetrieveQuery, StandardCharsets.UTF_8.toString());
-    } catch (UnsupportedEncodingException e) {
-      throw new APIException("Error while encoding the query: " + apiRetrieveQuery);
-    }
-    String apiRetrieveResponse =
-        requestProcessor.doGet(
-            apiRetrievePath,
-            Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-            Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-            Constants.Utils.BEARER + apimConfig.getApiToken());
-
-    if (apiRetrieveResponse != null) {
-      JSONObject jsonObj = new JSONObject(apiRetrieveResponse);
-      int apiCount = jsonObj.getInt(Constants.Utils.COUNT);
-      return apiCount == 0;
-    } else {
-      throw new APIException(
-          "Error while retrieving apis from the global API with url " + apiRetrievePath);
+  /**
+   * Returns the catalog of APIs which are already available in the global apim for the cell.
+   *
+   * @return API catalog
+   */
+  private static ApiCatalog getApiCatalog() {
+    if (apiCatalog == null) {
+      synchronized (UpdateManager.class) {
+        if (apiCatalog == null) {
+          apiCatalog = new ApiCatalog(cellConfig.getCell(), getCellName());
+        }
+      }
     }
+    return apiCatalog;
   }
 
   /**
@@ -440,7 +544,7 @@ public class UpdateManager {
    * @param api API sent by controller
    * @return endpoint payload string
    */
-  private static String getGlobalEndpoint(API api) {
+  static String getGlobalEndpoint(API api) {
     String response = Constants.Utils.EMPTY_STRING;
     ProductionEndpoint productionEndpoint = new ProductionEndpoint();
     String url = (Constants.Utils.HTTP + (cellConfig.getHostname() + ":" + api.getDestination().getPort()
@@ -450,9 +554,8 @@ public class UpdateManager {
     Endpoint endpoint = new Endpoint();
     endpoint.setProductionEndPoint(productionEndpoint);
 
-    ObjectMapper objectMapper = new ObjectMapper();
     try {
-      response = objectMapper.writeValueAsString(endpoint);
+      response = JsonCodec.ENDPOINT_WRITER.writeValueAsString(endpoint);
     } catch (JsonProcessingException e) {
       log.error("Error occurred while serializing json to string", e);
     }
@@ -465,7 +568,7 @@ public class UpdateManager {
    * @param api API sent by controller
    * @return api definition payload string
    */
-  private static String getAPIDefinition(API api) throws APIException {
+  static String getAPIDefinition(API api) throws APIException {
     PathsMapping apiDefinition = new PathsMapping();
     List<ApiDefinition> definitions = api.getDefinitions();
 
@@ -528,11 +631,10 @@ public class UpdateManager {
     info.setTitle(generateAPIName(api));
     info.setVersion(getVersion(api));
     apiDefinition.setInfo(info);
-    ObjectMapper objectMapper = new ObjectMapper();
     String apiDefinitionStr = Constants.Utils.EMPTY_STRING;
 
     try {
-      apiDefinitionStr = objectMapper.writeValueAsString(apiDefinition);
+      apiDefinitionStr = JsonCodec.PATHS_MAPPING_WRITER.writeValueAsString(apiDefinition);
     } catch (JsonProcessingException e) {
       log.error("Error occurred while serializing json to string", e);
     }
@@ -545,7 +647,7 @@ public class UpdateManager {
    * @param api API sent by controller
    * @return API name
    */
-  private static String generateAPIName(API api) {
+  static String generateAPIName(API api) {
     String apiName =
         cellConfig.getCell()
             + Constants.Utils.UNDERSCORE
@@ -571,6 +673,25 @@ public class UpdateManager {
     }
   }
 
+  /**
+   * Generates the cell name property value of the global APIs of the cell
+   *
+   * @return cell name property value
+   */
+  private static String getCellName() {
+    return cellConfig.getCell() + "." + cellConfig.getHostname().split("\\.")[1];
+  }
+
+  /**
+   * Generates the cell name and context property value for global API
+   *
+   * @param api API sent by controller
+   * @return cell name and context property value
+   */
+  private static String getCellNContext(API api) {
+    return ApiCatalog.toCellNContext(cellConfig.getCell(), getContext(api));
+  }
+
   /**
    * Generates API version for global API
    *
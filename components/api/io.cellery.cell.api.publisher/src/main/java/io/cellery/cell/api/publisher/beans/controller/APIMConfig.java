@@ -21,9 +21,11 @@ package io.cellery.cell.api.publisher.beans.controller;
 /** Bean for holding API Manager configuration. */
 public class APIMConfig {
 
-  private String apiToken;
-  private String clientId;
-  private String clientSecret;
+  private volatile String apiToken;
+  private volatile String clientId;
+  private volatile String clientSecret;
+  private volatile long tokenExpiryTime;
+  private volatile long tokenLifetime;
 
   public String getApiToken() {
     return apiToken;
@@ -48,4 +50,20 @@ public class APIMConfig {
   public void setClientSecret(String clientSecret) {
     this.clientSecret = clientSecret;
   }
+
+  public long getTokenExpiryTime() {
+    return tokenExpiryTime;
+  }
+
+  public void setTokenExpiryTime(long tokenExpiryTime) {
+    this.tokenExpiryTime = tokenExpiryTime;
+  }
+
+  public long getTokenLifetime() {
+    return tokenLifetime;
+  }
+
+  public void setTokenLifetime(long tokenLifetime) {
+    this.tokenLifetime = tokenLifetime;
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.api.publisher.utils.Constants;
+
+/** Bean for holding client credentials and access token cached across runs. */
+public class CachedCredentials {
+
+  @JsonProperty(Constants.JsonParamNames.APIM_BASE_URL)
+  private String apimBaseUrl;
+
+  @JsonProperty(Constants.JsonParamNames.USERNAME)
+  private String username;
+
+  @JsonProperty(Constants.JsonParamNames.CLIENT_ID)
+  private String clientId;
+
+  @JsonProperty(Constants.JsonParamNames.CLIENT_SECRET)
+  private String clientSecret;
+
+  @JsonProperty(Constants.JsonParamNames.ACCESS_TOKEN)
+  private String accessToken;
+
+  @JsonProperty(Constants.JsonParamNames.TOKEN_EXPIRY_TIME)
+  private long tokenExpiryTime;
+
+  @JsonProperty(Constants.JsonParamNames.TOKEN_LIFETIME)
+  private long tokenLifetime;
+
+  public String getApimBaseUrl() {
+    return apimBaseUrl;
+  }
+
+  public void setApimBaseUrl(String apimBaseUrl) {
+    this.apimBaseUrl = apimBaseUrl;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getClientId() {
+    return clientId;
+  }
+
+  public void setClientId(String clientId) {
+    this.clientId = clientId;
+  }
+
+  public String getClientSecret() {
+    return clientSecret;
+  }
+
+  public void setClientSecret(String clientSecret) {
+    this.clientSecret = clientSecret;
+  }
+
+  public String getAccessToken() {
+    return accessToken;
+  }
+
+  public void setAccessToken(String accessToken) {
+    this.accessToken = accessToken;
+  }
+
+  public long getTokenExpiryTime() {
+    return tokenExpiryTime;
+  }
+
+  public void setTokenExpiryTime(long tokenExpiryTime) {
+    this.tokenExpiryTime = tokenExpiryTime;
+  }
+
+  public long getTokenLifetime() {
+    return tokenLifetime;
+  }
+
+  public void setTokenLifetime(long tokenLifetime) {
+    this.tokenLifetime = tokenLifetime;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.api.publisher.utils.Constants;
+
+/** HTTP connection pool configuration used when talking to the global API Manager. */
+public class ConnectionPoolConfig {
+
+  @JsonProperty(Constants.JsonParamNames.MAX_CONNECTIONS)
+  private int maxConnections = Constants.Utils.DEFAULT_MAX_CONNECTIONS;
+
+  @JsonProperty(Constants.JsonParamNames.MAX_CONNECTIONS_PER_ROUTE)
+  private int maxConnectionsPerRoute = Constants.Utils.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+  @JsonProperty(Constants.JsonParamNames.KEEP_ALIVE)
+  private long keepAlive = Constants.Utils.DEFAULT_KEEP_ALIVE_MILLIS;
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+  }
+
+  public long getKeepAlive() {
+    return keepAlive;
+  }
+
+  public void setKeepAlive(long keepAlive) {
+    this.keepAlive = keepAlive;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.api.publisher.utils.Constants;
+
+/** Timeouts in milliseconds of one endpoint class, overriding the default timeouts when set. */
+public class EndpointTimeoutConfig {
+
+  @JsonProperty(Constants.JsonParamNames.CONNECT_TIMEOUT)
+  private Integer connectTimeout;
+
+  @JsonProperty(Constants.JsonParamNames.SOCKET_TIMEOUT)
+  private Integer socketTimeout;
+
+  @JsonProperty(Constants.JsonParamNames.CONNECTION_REQUEST_TIMEOUT)
+  private Integer connectionRequestTimeout;
+
+  public Integer getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public void setConnectTimeout(Integer connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  public Integer getSocketTimeout() {
+    return socketTimeout;
+  }
+
+  public void setSocketTimeout(Integer socketTimeout) {
+    this.socketTimeout = socketTimeout;
+  }
+
+  public Integer getConnectionRequestTimeout() {
+    return connectionRequestTimeout;
+  }
+
+  public void setConnectionRequestTimeout(Integer connectionRequestTimeout) {
+    this.connectionRequestTimeout = connectionRequestTimeout;
+  }
+}
@@ -46,6 +46,27 @@ public class RestConfig {
   @JsonProperty(Constants.JsonParamNames.TRUST_STORE)
   private JSONObject trustStore;
 
+  @JsonProperty(Constants.JsonParamNames.CONNECTION_POOL)
+  private ConnectionPoolConfig connectionPool = new ConnectionPoolConfig();
+
+  @JsonProperty(Constants.JsonParamNames.MAX_CONCURRENT_APIS)
+  private int maxConcurrentApis = Constants.Utils.DEFAULT_MAX_CONCURRENT_APIS;
+
+  @JsonProperty(Constants.JsonParamNames.TOKEN_CACHE_FILE)
+  private String tokenCacheFile = Constants.Utils.TOKEN_CACHE_FILE_PATH;
+
+  @JsonProperty(Constants.JsonParamNames.RETRY)
+  private RetryConfig retry = new RetryConfig();
+
+  @JsonProperty(Constants.JsonParamNames.CIRCUIT_BREAKER)
+  private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+  @JsonProperty(Constants.JsonParamNames.TIMEOUTS)
+  private TimeoutConfig timeouts = new TimeoutConfig();
+
+  @JsonProperty(Constants.JsonParamNames.DRY_RUN)
+  private boolean dryRun;
+
   public String getUsername() {
     return username;
   }
@@ -101,4 +122,60 @@ public class RestConfig {
   public void setTrustStore(JSONObject trustStore) {
     this.trustStore = trustStore;
   }
+
+  public ConnectionPoolConfig getConnectionPool() {
+    return connectionPool;
+  }
+
+  public void setConnectionPool(ConnectionPoolConfig connectionPool) {
+    this.connectionPool = connectionPool;
+  }
+
+  public int getMaxConcurrentApis() {
+    return maxConcurrentApis;
+  }
+
+  public void setMaxConcurrentApis(int maxConcurrentApis) {
+    this.maxConcurrentApis = maxConcurrentApis;
+  }
+
+  public String getTokenCacheFile() {
+    return tokenCacheFile;
+  }
+
+  public void setTokenCacheFile(String tokenCacheFile) {
+    this.tokenCacheFile = tokenCacheFile;
+  }
+
+  public RetryConfig getRetry() {
+    return retry;
+  }
+
+  public void setRetry(RetryConfig retry) {
+    this.retry = retry;
+  }
+
+  public CircuitBreakerConfig getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  public TimeoutConfig getTimeouts() {
+    return timeouts;
+  }
+
+  public void setTimeouts(TimeoutConfig timeouts) {
+    this.timeouts = timeouts;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.beans.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.api.publisher.utils.Constants;
+
+import java.util.List;
+
+/** Bean for a page of APIs returned by the API search of API Manager. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ApiList {
+
+  @JsonProperty(Constants.Utils.COUNT)
+  private int count;
+
+  @JsonProperty(Constants.Utils.LIST)
+  private List<ApiInfo> list;
+
+  @JsonProperty(Constants.Utils.PAGINATION)
+  private Pagination pagination;
+
+  public int getCount() {
+    return count;
+  }
+
+  public void setCount(int count) {
+    this.count = count;
+  }
+
+  public List<ApiInfo> getList() {
+    return list;
+  }
+
+  public void setList(List<ApiInfo> list) {
+    this.list = list;
+  }
+
+  public Pagination getPagination() {
+    return pagination;
+  }
+
+  public void setPagination(Pagination pagination) {
+    this.pagination = pagination;
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.internals;
+
+import io.cellery.cell.api.publisher.beans.controller.RestConfig;
+import io.cellery.cell.api.publisher.beans.response.ApiInfo;
+import io.cellery.cell.api.publisher.beans.response.ApiList;
+import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+import io.cellery.cell.api.publisher.utils.ApimResponse;
+import io.cellery.cell.api.publisher.utils.Constants;
+import io.cellery.cell.api.publisher.utils.RequestProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the APIs which are already available in the global API Manager for a cell.
+ *
+ * <p>The index is filled with a single paginated search for every API tagged with the cell name,
+ * and is keyed by the cell name and context property and the API version.
+ */
+public class ApiCatalog {
+
+  private static final Logger log = LoggerFactory.getLogger(ApiCatalog.class);
+  private final String cell;
+  private final String cellNameProperty;
+  private final Map<String, Map<String, String>> apis = new ConcurrentHashMap<>();
+  private volatile boolean loaded = false;
+
+  /**
+   * Create catalog of a cell.
+   *
+   * @param cell cell name
+   * @param cellNameProperty value of the cell name property the APIs of the cell are tagged with
+   */
+  public ApiCatalog(String cell, String cellNameProperty) {
+    this.cell = cell;
+    this.cellNameProperty = cellNameProperty;
+  }
+
+  /**
+   * Generates the cell name and context property value of an API
+   *
+   * @param cell cell name
+   * @param context API context without the leading slash
+   * @return cell name and context property value
+   */
+  public static String toCellNContext(String cell, String context) {
+    return (cell + context).replace("/", "_");
+  }
+
+  /**
+   * Get Id of an API available in the global apim with the given cell name and context
+   *
+   * @param cellNContext cell name and context property value
+   * @return Id of an available API, empty string if there is no such API
+   * @throws APIException throw API Exception if an error occurred while loading the catalog.
+   */
+  public String getApiId(String cellNContext) throws APIException {
+    loadIfRequired();
+    Map<String, String> versions = apis.get(cellNContext);
+    if (versions == null || versions.isEmpty()) {
+      return Constants.Utils.EMPTY_STRING;
+    }
+    synchronized (versions) {
+      return versions.values().iterator().next();
+    }
+  }
+
+  /**
+   * Check whether the API with the given cell name and context is available with the version.
+   *
+   * @param cellNContext cell name and context property value
+   * @param version API version
+   * @return true if the version is available in the global apim
+   * @throws APIException throw API Exception if an error occurred while loading the catalog.
+   */
+  public boolean hasVersion(String cellNContext, String version) throws APIException {
+    loadIfRequired();
+    Map<String, String> versions = apis.get(cellNContext);
+    if (versions == null) {
+      return false;
+    }
+    synchronized (versions) {
+      return versions.containsKey(version);
+    }
+  }
+
+  /**
+   * Record an API which is available in the global apim.
+   *
+   * @param cellNContext cell name and context property value
+   * @param version API version
+   * @param id API Id
+   */
+  public void addApi(String cellNContext, String version, String id) {
+    Map<String, String> versions =
+        apis.computeIfAbsent(
+            cellNContext, key -> Collections.synchronizedMap(new LinkedHashMap<>()));
+    versions.putIfAbsent(version, id);
+  }
+
+  /** Loads the catalog from the global API Manager if it is not loaded yet */
+  private void loadIfRequired() throws APIException {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          load();
+          loaded = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fetch every API tagged with the cell name, page by page.
+   *
+   * @throws APIException throw API Exception if an error occurred while retrieving APIs.
+   */
+  private void load() throws APIException {
+    if (log.isDebugEnabled()) {
+      log.debug("Loading APIs of cell " + cellNameProperty + " from Global API Manager");
+    }
+    RestConfig restConfig = ConfigManager.getRestConfiguration();
+    String apiToken = ConfigManager.getAPIMConfiguration().getApiToken();
+    String apiRetrieveQuery = Constants.Utils.CELL_NAME_PROPERTY + ":" + cellNameProperty;
+    String encodedQuery;
+    try {
+      encodedQuery = URLEncoder.encode(apiRetrieveQuery, StandardCharsets.UTF_8.toString());
+    } catch (UnsupportedEncodingException e) {
+      throw new APIException("Error while encoding the query: " + apiRetrieveQuery);
+    }
+
+    RequestProcessor requestProcessor = new RequestProcessor();
+    int offset = 0;
+    int count;
+    int total;
+    do {
+      String apiRetrievePath =
+          restConfig.getApimBaseUrl()
+              + Constants.Utils.PATH_PUBLISHER
+              + restConfig.getApiVersion()
+              + Constants.Utils.PATH_QUERY
+              + encodedQuery
+              + "&limit="
+              + Constants.Utils.CATALOG_PAGE_SIZE
+              + "&offset="
+              + offset;
+      ApimResponse<ApiList> apiRetrieveResponse =
+          requestProcessor.doGet(
+              ApimEndpoint.SEARCH,
+              apiRetrievePath,
+              Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
+              Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
+              Constants.Utils.BEARER + apiToken,
+              ApiList.class);
+      if (!apiRetrieveResponse.isSuccess() || apiRetrieveResponse.getBody() == null) {
+        throw new APIException(
+            "Error while retrieving apis from the global API with url "
+                + apiRetrievePath
+                + ", "
+                + apiRetrieveResponse.getErrorMessage());
+      }
+
+      ApiList apiList = apiRetrieveResponse.getBody();
+      count = apiList.getCount();
+      if (apiList.getList() != null) {
+        for (ApiInfo apiInfo : apiList.getList()) {
+          String context = stripContext(apiInfo.getContext(), apiInfo.getVersion());
+          addApi(toCellNContext(cell, context), apiInfo.getVersion(), apiInfo.getId());
+        }
+      }
+
+      offset += count;
+      if (apiList.getPagination() != null) {
+        total = apiList.getPagination().getTotal();
+      } else {
+        // Without pagination details a partial page is the last one.
+        total = count < Constants.Utils.CATALOG_PAGE_SIZE ? offset : offset + 1;
+      }
+    } while (count > 0 && offset < total);
+
+    if (log.isDebugEnabled()) {
+      log.debug("Loaded " + offset + " APIs of cell " + cellNameProperty);
+    }
+  }
+
+  /**
+   * Convert the context returned by the global API Manager back to the context the API was
+   * created with, by removing the leading slash and the version appended by API Manager.
+   *
+   * @param context context returned by API Manager
+   * @param version API version
+   * @return context without leading slash and version suffix
+   */
+  private static String stripContext(String context, String version) {
+    String stripped = context.startsWith("/") ? context.substring(1) : context;
+    String versionSuffix = "/" + version;
+    if (stripped.endsWith(versionSuffix)) {
+      stripped = stripped.substring(0, stripped.length() - versionSuffix.length());
+    }
+    return stripped;
+  }
+}
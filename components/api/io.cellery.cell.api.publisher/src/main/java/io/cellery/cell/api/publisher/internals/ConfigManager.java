@@ -18,14 +18,18 @@
 
 package io.cellery.cell.api.publisher.internals;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cellery.cell.api.publisher.beans.controller.APIMConfig;
+import io.cellery.cell.api.publisher.beans.controller.CachedCredentials;
 import io.cellery.cell.api.publisher.beans.controller.Cell;
 import io.cellery.cell.api.publisher.beans.controller.RestConfig;
+import io.cellery.cell.api.publisher.beans.response.ClientRegistrationResponse;
+import io.cellery.cell.api.publisher.beans.response.TokenResponse;
 import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+import io.cellery.cell.api.publisher.utils.ApimResponse;
 import io.cellery.cell.api.publisher.utils.Constants;
+import io.cellery.cell.api.publisher.utils.JsonCodec;
 import io.cellery.cell.api.publisher.utils.RequestProcessor;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +37,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /** Methods to read the configuration files */
 public class ConfigManager {
@@ -41,6 +48,13 @@ public class ConfigManager {
   private static volatile Cell cell = null;
   private static volatile RestConfig restConfig = null;
   private static volatile APIMConfig apimConfig = null;
+  private static final ScheduledExecutorService TOKEN_REFRESHER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, Constants.Utils.TOKEN_REFRESHER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
 
   /** Initializes the Cell configuration */
   private static void cellInitialize() throws IOException {
@@ -73,7 +87,8 @@ public class ConfigManager {
         if (log.isDebugEnabled()) {
           log.debug("Loading apim configuration..");
         }
-        loadApimConfig();
+        apimConfig = loadApimConfig();
+        scheduleTokenRefresh();
       }
     }
   }
@@ -127,62 +142,240 @@ public class ConfigManager {
   }
 
   /**
-   * Load Cell configuration
+   * Refresh the access token after it was rejected by API Manager. If another caller has already
+   * refreshed the rejected token, the current token is returned without calling the token endpoint.
+   *
+   * @param rejectedToken access token which was rejected
+   * @return valid access token
+   * @throws APIException throw API Exception if an error occurred while refreshing the token.
+   */
+  public static String refreshAccessToken(String rejectedToken) throws APIException {
+    APIMConfig config = getAPIMConfiguration();
+    synchronized (ConfigManager.class) {
+      if (rejectedToken.equals(config.getApiToken())) {
+        log.info("Access token was rejected by API Manager, generating a new token");
+        renewAccessToken(config);
+      }
+      return config.getApiToken();
+    }
+  }
+
+  /**
+   * Generate a new access token with the registered client, registering a new client if the
+   * current one is no longer accepted, and update the token cache.
+   *
+   * @param config APIM configuration to be updated
+   * @throws APIException throw API Exception if an error occurred while generating a token.
+   */
+  private static void renewAccessToken(APIMConfig config) throws APIException {
+    try {
+      generateAccessToken(config);
+    } catch (APIException e) {
+      log.warn("Failed to generate an access token with the current client, registering again", e);
+      byte[] message =
+          (restConfig.getUsername() + ":" + restConfig.getPassword())
+              .getBytes(StandardCharsets.UTF_8);
+      generateClientIDSecret(config, Base64.getEncoder().encodeToString(message));
+      generateAccessToken(config);
+    }
+    saveCachedApimConfig(config);
+  }
+
+  /**
+   * Schedule a background refresh of the access token shortly before it expires, so that long
+   * running publishes do not fail when the token expires. The refresh is never scheduled sooner
+   * than the minimum refresh delay, so that the token endpoint is not called in a loop.
+   */
+  private static void scheduleTokenRefresh() {
+    long expiryTime = apimConfig.getTokenExpiryTime();
+    if (expiryTime <= 0) {
+      return;
+    }
+    long delay =
+        Math.max(
+            Constants.Utils.MIN_TOKEN_REFRESH_DELAY_MILLIS,
+            expiryTime - getTokenExpirySkew(apimConfig) - System.currentTimeMillis());
+    if (log.isDebugEnabled()) {
+      log.debug("Scheduling access token refresh in " + delay + " ms");
+    }
+    TOKEN_REFRESHER.schedule(
+        () -> {
+          try {
+            synchronized (ConfigManager.class) {
+              renewAccessToken(apimConfig);
+            }
+            scheduleTokenRefresh();
+          } catch (APIException e) {
+            // The token will be refreshed on demand when API Manager rejects it.
+            log.warn("Failed to refresh the access token in background", e);
+          }
+        },
+        delay,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Load Cell configuration from the config map, or from the file given by the {@value
+   * Constants.Utils#CELL_CONFIGURATION_FILE_PROPERTY} system property
    *
    * @return Cell Config
    */
   private static Cell loadCellConfig() throws IOException {
+    String path =
+        System.getProperty(
+            Constants.Utils.CELL_CONFIGURATION_FILE_PROPERTY,
+            Constants.Utils.CELL_CONFIGURATION_FILE_PATH);
     if (log.isDebugEnabled()) {
-      log.debug("Reading cell configuration file: " + Constants.Utils.CELL_CONFIGURATION_FILE_PATH);
+      log.debug("Reading cell configuration file: " + path);
     }
-    ObjectMapper objectMapper = new ObjectMapper();
-    return objectMapper.readValue(
-        new File(Constants.Utils.CELL_CONFIGURATION_FILE_PATH), Cell.class);
+    return JsonCodec.CELL_READER.readValue(new File(path));
   }
 
   /**
-   * Load configurations required for REST APIs
+   * Load configurations required for REST APIs from the config map, or from the file given by the
+   * {@value Constants.Utils#REST_CONFIGURATION_FILE_PROPERTY} system property
    *
    * @return REST Config
    */
   private static RestConfig loadRESTConfig() throws IOException {
+    String path =
+        System.getProperty(
+            Constants.Utils.REST_CONFIGURATION_FILE_PROPERTY,
+            Constants.Utils.REST_CONFIGURATION_FILE_PATH);
     if (log.isDebugEnabled()) {
-      log.debug(
-          "Reading global configuration file: " + Constants.Utils.REST_CONFIGURATION_FILE_PATH);
+      log.debug("Reading global configuration file: " + path);
     }
-    ObjectMapper objectMapper = new ObjectMapper();
-    return objectMapper.readValue(
-        new File(Constants.Utils.REST_CONFIGURATION_FILE_PATH), RestConfig.class);
+    return JsonCodec.REST_CONFIG_READER.readValue(new File(path));
   }
 
-  /** Load APIM configuration required for getting Access token */
-  private static void loadApimConfig() throws APIException {
+  /**
+   * Load APIM configuration required for getting Access token
+   *
+   * @return APIM Config
+   */
+  private static APIMConfig loadApimConfig() throws APIException {
     if (log.isDebugEnabled()) {
       log.debug("Loading APIM Configs");
     }
-    apimConfig = new APIMConfig();
+    APIMConfig config = loadCachedApimConfig();
+    if (config != null) {
+      return config;
+    }
+    config = new APIMConfig();
     String username = restConfig.getUsername();
     String password = restConfig.getPassword();
     byte[] message = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
     String userAuth = Base64.getEncoder().encodeToString(message);
-    generateClientIDSecret(userAuth);
-    generateAccessToken();
+    generateClientIDSecret(config, userAuth);
+    generateAccessToken(config);
+    saveCachedApimConfig(config);
+    return config;
+  }
+
+  /**
+   * Load APIM configuration from the token cache. The cached client is reused as long as it was
+   * registered for the same API Manager and user, and a new access token is requested only if the
+   * cached token is about to expire.
+   *
+   * @return cached APIM Config, null if the cache cannot be used
+   */
+  private static APIMConfig loadCachedApimConfig() {
+    CachedCredentials credentials = TokenCache.load(restConfig.getTokenCacheFile());
+    if (credentials == null
+        || credentials.getClientId() == null
+        || credentials.getClientSecret() == null
+        || !restConfig.getApimBaseUrl().equals(credentials.getApimBaseUrl())
+        || !restConfig.getUsername().equals(credentials.getUsername())) {
+      return null;
+    }
+    APIMConfig config = new APIMConfig();
+    config.setClientId(credentials.getClientId());
+    config.setClientSecret(credentials.getClientSecret());
+    config.setApiToken(credentials.getAccessToken());
+    config.setTokenExpiryTime(credentials.getTokenExpiryTime());
+    config.setTokenLifetime(credentials.getTokenLifetime());
+
+    if (credentials.getAccessToken() != null && !isTokenExpiring(config)) {
+      if (log.isDebugEnabled()) {
+        log.debug("Reusing cached access token");
+      }
+      return config;
+    }
+    try {
+      if (log.isDebugEnabled()) {
+        log.debug("Cached access token is about to expire, reusing the cached client");
+      }
+      generateAccessToken(config);
+      saveCachedApimConfig(config);
+      return config;
+    } catch (APIException e) {
+      log.warn("Failed to generate an access token with the cached client, registering again", e);
+      return null;
+    }
+  }
+
+  /**
+   * Write the APIM configuration to the token cache
+   *
+   * @param config APIM configuration
+   */
+  private static void saveCachedApimConfig(APIMConfig config) {
+    CachedCredentials credentials = new CachedCredentials();
+    credentials.setApimBaseUrl(restConfig.getApimBaseUrl());
+    credentials.setUsername(restConfig.getUsername());
+    credentials.setClientId(config.getClientId());
+    credentials.setClientSecret(config.getClientSecret());
+    credentials.setAccessToken(config.getApiToken());
+    credentials.setTokenExpiryTime(config.getTokenExpiryTime());
+    credentials.setTokenLifetime(config.getTokenLifetime());
+    TokenCache.save(restConfig.getTokenCacheFile(), credentials);
+  }
+
+  /**
+   * Check whether the access token expires within the expiry skew.
+   *
+   * @param config APIM configuration
+   * @return true if the token should not be used any more
+   */
+  private static boolean isTokenExpiring(APIMConfig config) {
+    return config.getTokenExpiryTime() <= System.currentTimeMillis() + getTokenExpirySkew(config);
+  }
+
+  /**
+   * Get the window before the expiry of the access token in which it is refreshed. The window is
+   * capped at a fraction of the token lifetime, so that tokens issued with a short lifetime are
+   * not considered to be expiring as soon as they are issued.
+   *
+   * @param config APIM configuration
+   * @return expiry skew in milliseconds
+   */
+  private static long getTokenExpirySkew(APIMConfig config) {
+    if (config.getTokenLifetime() <= 0) {
+      // Lifetime of tokens cached by earlier versions is not known.
+      return Constants.Utils.TOKEN_EXPIRY_SKEW_MILLIS;
+    }
+    return Math.min(
+        Constants.Utils.TOKEN_EXPIRY_SKEW_MILLIS,
+        (long) (config.getTokenLifetime() * Constants.Utils.TOKEN_EXPIRY_SKEW_FRACTION));
   }
 
   /**
    * Generate Client ID and Client Secret.
    *
+   * @param config APIM configuration to be updated with the client
    * @param authHeader Authorization Header
    * @throws APIException Throw an exception if any error occurred.
    */
-  private static void generateClientIDSecret(String authHeader) throws APIException {
+  private static void generateClientIDSecret(APIMConfig config, String authHeader)
+      throws APIException {
     if (log.isDebugEnabled()) {
       log.debug("Calling the dynamic client registration endpoint...");
     }
     RequestProcessor requestProcessor = new RequestProcessor();
     String apimBaseURL = restConfig.getApimBaseUrl();
-    String applicationResponse =
+    ApimResponse<ClientRegistrationResponse> applicationResponse =
         requestProcessor.doPost(
+            ApimEndpoint.DCR,
             apimBaseURL
                 + Constants.Utils.PATH_CLIENT_REGISTRATION
                 + restConfig.getApiVersion()
@@ -190,21 +383,22 @@ public class ConfigManager {
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.BASIC + authHeader,
-            restConfig.getRegisterPayload().toJSONString());
+            restConfig.getRegisterPayload().toJSONString(),
+            ClientRegistrationResponse.class);
 
-    if (applicationResponse != null) {
-      JSONObject jsonObj = new JSONObject(applicationResponse);
-      apimConfig.setClientId(jsonObj.getString(Constants.Utils.CLIENT_ID));
-      apimConfig.setClientSecret(jsonObj.getString(Constants.Utils.CLIENT_SECRET));
+    if (applicationResponse.isSuccess() && applicationResponse.getBody() != null) {
+      config.setClientId(applicationResponse.getBody().getClientId());
+      config.setClientSecret(applicationResponse.getBody().getClientSecret());
     }
   }
 
   /**
    * Generate access tokens required to invoke RESTful APIs
    *
+   * @param config APIM configuration to be updated with the token
    * @throws APIException throw API Exception if an error occurred while generating an access token.
    */
-  private static void generateAccessToken() throws APIException {
+  private static void generateAccessToken(APIMConfig config) throws APIException {
     if (log.isDebugEnabled()) {
       log.debug("Calling token endpoint to generate access tokens...");
     }
@@ -213,41 +407,48 @@ public class ConfigManager {
         Constants.Utils.TOKEN_PAYLOAD
             .replace("$USER", restConfig.getUsername())
             .replace("$PASS", restConfig.getPassword());
-    apimConfig.setApiToken(getToken(tokenPayload));
+    getToken(config, tokenPayload);
   }
 
   /**
-   * Invoke Rest API to get token
+   * Invoke Rest API to get token and update the APIM configuration with it
    *
+   * @param config APIM configuration to be updated with the token
    * @param tokenPayload Post payload
-   * @return access token
    * @throws APIException throw API Exception if an error occurred
    */
-  private static String getToken(String tokenPayload) throws APIException {
+  private static void getToken(APIMConfig config, String tokenPayload) throws APIException {
     RequestProcessor requestProcessor = new RequestProcessor();
-    String auth = getBase64EncodedClientIdAndSecret();
-    String apiCreateTokenResponse =
+    String auth = getBase64EncodedClientIdAndSecret(config);
+    long requestTime = System.currentTimeMillis();
+    ApimResponse<TokenResponse> apiCreateTokenResponse =
         requestProcessor.doPost(
+            ApimEndpoint.TOKEN,
             restConfig.getTokenEndpoint(),
             Constants.Utils.CONTENT_TYPE_APPLICATION_URL_ENCODED,
             Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
             Constants.Utils.BASIC + auth,
-            tokenPayload);
+            tokenPayload,
+            TokenResponse.class);
 
-    if (apiCreateTokenResponse != null) {
-      JSONObject jsonObj = new JSONObject(apiCreateTokenResponse);
-      return jsonObj.getString(Constants.Utils.ACCESS_TOKEN);
+    if (apiCreateTokenResponse.isSuccess() && apiCreateTokenResponse.getBody() != null) {
+      TokenResponse token = apiCreateTokenResponse.getBody();
+      config.setApiToken(token.getAccessToken());
+      // A token without an expiry is not reused by later runs.
+      config.setTokenExpiryTime(requestTime + token.getExpiresIn() * 1000);
+      config.setTokenLifetime(token.getExpiresIn() * 1000);
     } else {
       throw new APIException(
           "Error while generating the access token from token endpoint: "
-              + restConfig.getTokenEndpoint());
+              + restConfig.getTokenEndpoint()
+              + ", "
+              + apiCreateTokenResponse.getErrorMessage());
     }
   }
 
-  private static String getBase64EncodedClientIdAndSecret() {
+  private static String getBase64EncodedClientIdAndSecret(APIMConfig config) {
     byte[] message =
-        (apimConfig.getClientId() + ":" + apimConfig.getClientSecret())
-            .getBytes(StandardCharsets.UTF_8);
+        (config.getClientId() + ":" + config.getClientSecret()).getBytes(StandardCharsets.UTF_8);
     return Base64.getEncoder().encodeToString(message);
   }
 }
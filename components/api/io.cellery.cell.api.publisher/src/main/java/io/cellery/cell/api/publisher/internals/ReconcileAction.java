@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.internals;
+
+import io.cellery.cell.api.publisher.beans.controller.API;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/** Planned action which brings a single global API of the cell in line with the cell. */
+public class ReconcileAction {
+
+  /** Kinds of actions, with the mutating API Manager calls each of them makes in order. */
+  public enum Type {
+    /** The API is not available in API Manager, so it is created and published. */
+    CREATE(ApimEndpoint.CREATE, ApimEndpoint.LIFECYCLE),
+    /**
+     * Another version of the API is available, so a new version is created from it, updated with
+     * the API definition and endpoint, and published.
+     */
+    VERSION(ApimEndpoint.NEW_VERSION, ApimEndpoint.UPDATE, ApimEndpoint.LIFECYCLE),
+    /** The version of the API is already available in API Manager. */
+    EXISTS;
+
+    private final List<ApimEndpoint> calls;
+
+    Type(ApimEndpoint... calls) {
+      this.calls = Collections.unmodifiableList(Arrays.asList(calls));
+    }
+
+    /**
+     * Returns the mutating API Manager calls of the action, in the order they are made.
+     *
+     * @return API Manager endpoints called by the action
+     */
+    public List<ApimEndpoint> getCalls() {
+      return calls;
+    }
+
+    public boolean isMutating() {
+      return !calls.isEmpty();
+    }
+  }
+
+  private final Type type;
+  private final API api;
+  private final String name;
+  private final String cellNContext;
+  private final String version;
+  private final String existingApiId;
+
+  /**
+   * Create an action.
+   *
+   * @param type kind of the action
+   * @param api API sent by controller
+   * @param name name of the global API
+   * @param cellNContext cell name and context property value of the API
+   * @param version version of the global API
+   * @param existingApiId Id of the available API a new version is created from, null otherwise
+   */
+  public ReconcileAction(
+      Type type,
+      API api,
+      String name,
+      String cellNContext,
+      String version,
+      String existingApiId) {
+    this.type = type;
+    this.api = api;
+    this.name = name;
+    this.cellNContext = cellNContext;
+    this.version = version;
+    this.existingApiId = existingApiId;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public API getApi() {
+    return api;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getCellNContext() {
+    return cellNContext;
+  }
+
+  public String getVersion() {
+    return version;
+  }
+
+  public String getExistingApiId() {
+    return existingApiId;
+  }
+}
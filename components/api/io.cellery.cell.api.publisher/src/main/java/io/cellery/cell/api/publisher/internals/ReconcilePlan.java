@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.internals;
+
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actions which bring the global APIs of a cell in line with the cell, computed from the cell
+ * configuration and a snapshot of the APIs available in the global API Manager.
+ *
+ * <p>Every action touches a single API and does not depend on any other action, so the mutating
+ * actions can be executed in any order, in parallel or in batches. The plan can be described
+ * without executing it, to see the API Manager calls a deployment will make.
+ */
+public class ReconcilePlan {
+
+  private final String cell;
+  private final List<ReconcileAction> actions;
+
+  /**
+   * Create the plan of a cell.
+   *
+   * @param cell cell name
+   * @param actions one action for each global API of the cell
+   */
+  public ReconcilePlan(String cell, List<ReconcileAction> actions) {
+    this.cell = cell;
+    this.actions = Collections.unmodifiableList(new ArrayList<>(actions));
+  }
+
+  public List<ReconcileAction> getActions() {
+    return actions;
+  }
+
+  /**
+   * Returns the actions which make calls to API Manager.
+   *
+   * @return mutating actions, in the order of the APIs in the cell
+   */
+  public List<ReconcileAction> getMutatingActions() {
+    List<ReconcileAction> mutatingActions = new ArrayList<>();
+    for (ReconcileAction action : actions) {
+      if (action.getType().isMutating()) {
+        mutatingActions.add(action);
+      }
+    }
+    return mutatingActions;
+  }
+
+  /**
+   * Count the mutating API Manager calls the plan makes, by endpoint.
+   *
+   * @return number of calls of each endpoint called by the plan
+   */
+  public Map<ApimEndpoint, Integer> getCallCounts() {
+    Map<ApimEndpoint, Integer> callCounts = new EnumMap<>(ApimEndpoint.class);
+    for (ReconcileAction action : actions) {
+      for (ApimEndpoint endpoint : action.getType().getCalls()) {
+        callCounts.merge(endpoint, 1, Integer::sum);
+      }
+    }
+    return callCounts;
+  }
+
+  /**
+   * Describe the plan, with a summary line followed by a line for each action.
+   *
+   * @return plan description
+   */
+  public String describe() {
+    Map<ReconcileAction.Type, Integer> typeCounts = new EnumMap<>(ReconcileAction.Type.class);
+    for (ReconcileAction action : actions) {
+      typeCounts.merge(action.getType(), 1, Integer::sum);
+    }
+    Map<ApimEndpoint, Integer> callCounts = getCallCounts();
+    int callCount = 0;
+    for (int count : callCounts.values()) {
+      callCount += count;
+    }
+
+    StringBuilder description = new StringBuilder("Reconcile plan of cell ").append(cell);
+    description.append(" for ").append(actions.size()).append(" global APIs:");
+    for (ReconcileAction.Type type : ReconcileAction.Type.values()) {
+      description.append(' ').append(getLabel(type)).append('=');
+      description.append(typeCounts.getOrDefault(type, 0));
+    }
+    description.append(", ").append(callCount).append(" API Manager calls");
+    if (!callCounts.isEmpty()) {
+      String separator = " (";
+      for (Map.Entry<ApimEndpoint, Integer> entry : callCounts.entrySet()) {
+        description.append(separator).append(entry.getKey().getConfigKey());
+        description.append('=').append(entry.getValue());
+        separator = " ";
+      }
+      description.append(')');
+    }
+
+    for (ReconcileAction action : actions) {
+      description.append(System.lineSeparator());
+      description.append(
+          String.format(
+              Locale.ROOT,
+              "  %-9s %s %s",
+              getLabel(action.getType()),
+              action.getName(),
+              action.getVersion()));
+      if (action.getType().isMutating()) {
+        String separator = ": ";
+        for (ApimEndpoint endpoint : action.getType().getCalls()) {
+          description.append(separator).append(endpoint.getConfigKey());
+          separator = ", ";
+        }
+      }
+    }
+    return description.toString();
+  }
+
+  private static String getLabel(ReconcileAction.Type type) {
+    return type.name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.internals;
+
+import io.cellery.cell.api.publisher.beans.controller.CachedCredentials;
+import io.cellery.cell.api.publisher.utils.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * File backed cache of the dynamic client registration and the access token, so that they can be
+ * reused by later runs instead of registering a client and requesting a token on every start.
+ */
+public class TokenCache {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenCache.class);
+  private static final String OWNER_READ_WRITE = "rw-------";
+
+  private TokenCache() {}
+
+  /**
+   * Read the cached credentials.
+   *
+   * @param cacheFilePath path of the cache file
+   * @return cached credentials, null if the cache is not available
+   */
+  public static CachedCredentials load(String cacheFilePath) {
+    Path cacheFile = Paths.get(cacheFilePath);
+    if (!Files.isRegularFile(cacheFile)) {
+      return null;
+    }
+    try {
+      return JsonCodec.CACHED_CREDENTIALS_READER.readValue(cacheFile.toFile());
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable token cache file " + cacheFilePath, e);
+      return null;
+    }
+  }
+
+  /**
+   * Write the credentials to the cache file, readable and writable by the owner only. The file is
+   * replaced atomically.
+   *
+   * @param cacheFilePath path of the cache file
+   * @param credentials credentials to be cached
+   */
+  public static void save(String cacheFilePath, CachedCredentials credentials) {
+    Path cacheFile = Paths.get(cacheFilePath);
+    Path parent = cacheFile.toAbsolutePath().getParent();
+    if (parent == null || !Files.isDirectory(parent)) {
+      if (log.isDebugEnabled()) {
+        log.debug("Token cache is not saved as the directory of " + cacheFile + " does not exist");
+      }
+      return;
+    }
+    try {
+      Path tempFile;
+      if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+        tempFile =
+            Files.createTempFile(
+                parent,
+                cacheFile.getFileName().toString(),
+                ".tmp",
+                PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString(OWNER_READ_WRITE)));
+      } else {
+        tempFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+      }
+      try {
+        JsonCodec.CACHED_CREDENTIALS_WRITER.writeValue(tempFile.toFile(), credentials);
+        try {
+          Files.move(
+              tempFile,
+              cacheFile,
+              StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to save the token cache to " + cacheFile, e);
+    }
+  }
+}
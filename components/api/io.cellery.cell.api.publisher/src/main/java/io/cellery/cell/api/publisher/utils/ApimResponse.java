@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.utils;
+
+import io.cellery.cell.api.publisher.beans.response.ErrorResponse;
+
+import java.net.HttpURLConnection;
+
+/**
+ * Status code and decoded body of an API Manager response.
+ *
+ * <p>Successful responses carry the body decoded into the requested bean type, while failed
+ * responses carry the decoded error body, if API Manager returned one, so that callers classify
+ * failures by the error code instead of searching the raw response.
+ *
+ * @param <T> bean type of a successful response body
+ */
+public class ApimResponse<T> {
+
+  private final int statusCode;
+  private final T body;
+  private final ErrorResponse error;
+
+  private ApimResponse(int statusCode, T body, ErrorResponse error) {
+    this.statusCode = statusCode;
+    this.body = body;
+    this.error = error;
+  }
+
+  static <T> ApimResponse<T> success(int statusCode, T body) {
+    return new ApimResponse<>(statusCode, body, null);
+  }
+
+  static <T> ApimResponse<T> failure(int statusCode, ErrorResponse error) {
+    return new ApimResponse<>(statusCode, null, error);
+  }
+
+  static boolean isSuccess(int statusCode) {
+    return statusCode >= HttpURLConnection.HTTP_OK
+        && statusCode < HttpURLConnection.HTTP_MULT_CHOICE;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public boolean isSuccess() {
+    return isSuccess(statusCode);
+  }
+
+  /**
+   * Get the decoded body of a successful response.
+   *
+   * @return response body, null if the response failed or has no body
+   */
+  public T getBody() {
+    return body;
+  }
+
+  /**
+   * Get the decoded error body of a failed response.
+   *
+   * @return error body, null if the response succeeded or has no JSON error body
+   */
+  public ErrorResponse getError() {
+    return error;
+  }
+
+  /**
+   * Check whether API Manager rejected the request because the API already exists.
+   *
+   * @return true if the API already exists
+   */
+  public boolean isDuplicateApi() {
+    return getErrorCode() == HttpURLConnection.HTTP_CONFLICT;
+  }
+
+  /**
+   * Check whether API Manager rejected the request because the context is already used, either
+   * by the same API with a different context or by another API. API Manager reports both with the
+   * generic bad request code, so only the description of such errors is inspected.
+   *
+   * @return true if the context of the API is already used
+   */
+  public boolean isDuplicateContext() {
+    if (getErrorCode() != HttpURLConnection.HTTP_BAD_REQUEST
+        || error.getDescription() == null) {
+      return false;
+    }
+    return error.getDescription().contains(Constants.Utils.DIFFERENT_CONTEXT_ERROR)
+        || error.getDescription().contains(Constants.Utils.DUPLICATE_CONTEXT_ERROR);
+  }
+
+  /**
+   * Describe the failure of the response for error messages.
+   *
+   * @return status code and error details of the response
+   */
+  public String getErrorMessage() {
+    StringBuilder errorMessage = new StringBuilder("HTTP status ").append(statusCode);
+    if (error != null) {
+      if (error.getMessage() != null) {
+        errorMessage.append(": ").append(error.getMessage());
+      }
+      if (error.getDescription() != null) {
+        errorMessage.append(" - ").append(error.getDescription());
+      }
+    }
+    return errorMessage.toString();
+  }
+
+  /**
+   * Get the error code of a failed response. API Manager sets the code of the error body to the
+   * status code, which is used when the error body has no code.
+   *
+   * @return error code, -1 if the response succeeded or has no JSON error body
+   */
+  private long getErrorCode() {
+    if (error == null) {
+      return -1;
+    }
+    return error.getCode() != 0 ? error.getCode() : statusCode;
+  }
+}
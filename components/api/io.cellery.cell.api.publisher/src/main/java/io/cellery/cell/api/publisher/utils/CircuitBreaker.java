@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.utils;
+
+import io.cellery.cell.api.publisher.beans.controller.CircuitBreakerConfig;
+import io.cellery.cell.api.publisher.exceptions.APIException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker guarding the calls made to a single API Manager host.
+ *
+ * <p>The outcome of the last calls is kept in a sliding window. When the failure rate of the
+ * window reaches the threshold the circuit opens and calls fail fast without touching the
+ * network. After the open duration a limited number of probe calls are let through; the circuit
+ * closes again if all of them succeed and opens again on the first failure.
+ */
+public class CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+  private static final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+  private final String host;
+  private final int minimumCalls;
+  private final int failureRateThreshold;
+  private final long openDuration;
+  private final int halfOpenProbes;
+  private final boolean[] window;
+  private int windowIndex = 0;
+  private int windowCalls = 0;
+  private int windowFailures = 0;
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int probesInFlight = 0;
+  private int probeSuccesses = 0;
+  private String lastFailure;
+
+  private CircuitBreaker(String host, CircuitBreakerConfig config) {
+    this.host = host;
+    this.window = new boolean[Math.max(1, config.getWindowSize())];
+    this.minimumCalls = Math.max(1, Math.min(config.getMinimumCalls(), window.length));
+    this.failureRateThreshold = config.getFailureRateThreshold();
+    this.openDuration = config.getOpenDuration();
+    this.halfOpenProbes = Math.max(1, config.getHalfOpenProbes());
+  }
+
+  /**
+   * Returns the circuit breaker of the host, creating it on first use.
+   *
+   * @param host host name and port of the API Manager
+   * @param config circuit breaker configuration
+   * @return circuit breaker of the host
+   */
+  public static CircuitBreaker forHost(String host, CircuitBreakerConfig config) {
+    return circuitBreakers.computeIfAbsent(host, key -> new CircuitBreaker(key, config));
+  }
+
+  /**
+   * Check whether a call can be made to the host.
+   *
+   * @throws APIException throw API Exception if the circuit is open
+   */
+  public synchronized void acquirePermission() throws APIException {
+    if (state == State.OPEN) {
+      long remaining = openedAt + openDuration - System.currentTimeMillis();
+      if (remaining > 0) {
+        throw new APIException(
+            "Circuit breaker for "
+                + host
+                + " is open, failing fast for another "
+                + remaining
+                + " ms. Last failure: "
+                + lastFailure);
+      }
+      log.info("Circuit breaker for " + host + " is half open, probing the API Manager");
+      state = State.HALF_OPEN;
+      probesInFlight = 0;
+      probeSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesInFlight + probeSuccesses >= halfOpenProbes) {
+        throw new APIException(
+            "Circuit breaker for "
+                + host
+                + " is half open and waiting for probe calls. Last failure: "
+                + lastFailure);
+      }
+      probesInFlight++;
+    }
+  }
+
+  /** Record a successful call. */
+  public synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      probesInFlight = Math.max(0, probesInFlight - 1);
+      probeSuccesses++;
+      if (probeSuccesses >= halfOpenProbes) {
+        log.info("Circuit breaker for " + host + " is closed");
+        state = State.CLOSED;
+        resetWindow();
+      }
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  /**
+   * Release the permission of a call which ended without an outcome that can be attributed to the
+   * host, such as a call which never left the local connection pool.
+   */
+  public synchronized void releasePermission() {
+    if (state == State.HALF_OPEN) {
+      probesInFlight = Math.max(0, probesInFlight - 1);
+    }
+  }
+
+  /**
+   * Record a failed call.
+   *
+   * @param reason reason of the failure
+   */
+  public synchronized void onFailure(String reason) {
+    lastFailure = reason;
+    if (state == State.HALF_OPEN) {
+      open("probe call failed");
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (windowCalls >= minimumCalls
+          && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+        open(windowFailures + " of the last " + windowCalls + " calls failed");
+      }
+    }
+  }
+
+  private void record(boolean failure) {
+    if (windowCalls == window.length) {
+      if (window[windowIndex]) {
+        windowFailures--;
+      }
+    } else {
+      windowCalls++;
+    }
+    window[windowIndex] = failure;
+    if (failure) {
+      windowFailures++;
+    }
+    windowIndex = (windowIndex + 1) % window.length;
+  }
+
+  private void open(String cause) {
+    log.warn(
+        "Circuit breaker for "
+            + host
+            + " is open for "
+            + openDuration
+            + " ms as "
+            + cause
+            + ". Last failure: "
+            + lastFailure);
+    state = State.OPEN;
+    openedAt = System.currentTimeMillis();
+    resetWindow();
+  }
+
+  private void resetWindow() {
+    windowIndex = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+    probesInFlight = 0;
+    probeSuccesses = 0;
+  }
+
+  /** States of the circuit breaker. */
+  private enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+}
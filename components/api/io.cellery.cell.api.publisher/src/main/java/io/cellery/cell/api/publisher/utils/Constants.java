@@ -18,6 +18,10 @@
 
 package io.cellery.cell.api.publisher.utils;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /** This class represents the constants. */
 public class Constants {
 
@@ -48,6 +52,8 @@ public class Constants {
     public static final String NAME = "name";
     public static final String ID = "id";
     public static final String DESCRIPTION = "description";
+    public static final String CODE = "code";
+    public static final String MESSAGE = "message";
     public static final String IS_DEFAULT_VERSION = "isDefaultVersion";
     public static final String TRANSPORT = "transport";
     public static final String TIERS = "tiers";
@@ -76,6 +82,35 @@ public class Constants {
     public static final String NONE = "None";
     public static final String INFO = "info";
     public static final String TITLE = "title";
+    public static final String CONNECTION_POOL = "connectionPool";
+    public static final String MAX_CONNECTIONS = "maxConnections";
+    public static final String MAX_CONNECTIONS_PER_ROUTE = "maxConnectionsPerRoute";
+    public static final String KEEP_ALIVE = "keepAlive";
+    public static final String MAX_CONCURRENT_APIS = "maxConcurrentApis";
+    public static final String TOKEN_CACHE_FILE = "tokenCacheFile";
+    public static final String CLIENT_ID = "clientId";
+    public static final String CLIENT_SECRET = "clientSecret";
+    public static final String ACCESS_TOKEN = "accessToken";
+    public static final String TOKEN_EXPIRY_TIME = "tokenExpiryTime";
+    public static final String TOKEN_LIFETIME = "tokenLifetime";
+    public static final String RETRY = "retry";
+    public static final String MAX_ATTEMPTS = "maxAttempts";
+    public static final String BASE_DELAY = "baseDelay";
+    public static final String MAX_DELAY = "maxDelay";
+    public static final String JITTER = "jitter";
+    public static final String RETRYABLE_STATUS_CODES = "retryableStatusCodes";
+    public static final String CIRCUIT_BREAKER = "circuitBreaker";
+    public static final String WINDOW_SIZE = "windowSize";
+    public static final String MINIMUM_CALLS = "minimumCalls";
+    public static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    public static final String OPEN_DURATION = "openDuration";
+    public static final String HALF_OPEN_PROBES = "halfOpenProbes";
+    public static final String TIMEOUTS = "timeouts";
+    public static final String CONNECT_TIMEOUT = "connectTimeout";
+    public static final String SOCKET_TIMEOUT = "socketTimeout";
+    public static final String CONNECTION_REQUEST_TIMEOUT = "connectionRequestTimeout";
+    public static final String ENDPOINTS = "endpoints";
+    public static final String DRY_RUN = "dryRun";
   }
 
   /** Json param names Constants. */
@@ -96,6 +131,8 @@ public class Constants {
     static final String HTTP_RESPONSE_TYPE_ACCEPT = "Accept";
     static final String HTTP_CONTENT_TYPE = "Content-type";
     static final String HTTP_REQ_HEADER_AUTHZ = "Authorization";
+    static final String HTTP_RES_HEADER_RETRY_AFTER = "Retry-After";
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
     public static final String BEARER = "Bearer ";
     public static final String BASIC = "Basic ";
     public static final String BODY = "body";
@@ -106,16 +143,69 @@ public class Constants {
             + "&scope=apim:api_create apim:api_publish apim:label_manage apim:api_view";
     public static final String DEFAULT_API_VERSION = "0.1";
 
+    // HTTP connection pool defaults
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30000;
+    public static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+    public static final long IDLE_CONNECTION_EVICT_MILLIS = 60000;
+
+    // Retry defaults
+    public static final int DEFAULT_RETRY_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_RETRY_BASE_DELAY_MILLIS = 500;
+    public static final long DEFAULT_RETRY_MAX_DELAY_MILLIS = 10000;
+    public static final double DEFAULT_RETRY_JITTER = 0.5;
+    public static final List<Integer> DEFAULT_RETRYABLE_STATUS_CODES =
+        Collections.unmodifiableList(Arrays.asList(429, 502, 503, 504));
+
+    // Circuit breaker defaults
+    public static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    public static final int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 5;
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 50;
+    public static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS = 30000;
+    public static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES = 2;
+
+    // Timeout defaults
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+    public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 60000;
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10000;
+
+    // Concurrency defaults
+    public static final int DEFAULT_MAX_CONCURRENT_APIS = 1;
+    public static final String WORKER_THREAD_NAME_PREFIX = "api-publisher-worker-";
+    public static final String TOKEN_REFRESHER_THREAD_NAME = "api-publisher-token-refresher";
+
+    // Latency histogram constants
+    public static final String LATENCY_MBEAN_DOMAIN = "io.cellery.cell.api.publisher";
+    public static final String LATENCY_DUMP_THREAD_NAME = "api-publisher-latency-dump";
+
     // Config map file paths
     public static final String CELL_CONFIGURATION_FILE_PATH = "/etc/config/api.json";
     public static final String REST_CONFIGURATION_FILE_PATH = "/etc/config/publisher.json";
+    public static final String CELL_CONFIGURATION_FILE_PROPERTY =
+        "cellery.api.publisher.cellConfig";
+    public static final String REST_CONFIGURATION_FILE_PROPERTY =
+        "cellery.api.publisher.restConfig";
+
+    // State file paths
+    public static final String TOKEN_CACHE_FILE_PATH = "/var/cellery/api-publisher/token.json";
 
     // Token constants
     public static final String CLIENT_ID = "clientId";
     public static final String CLIENT_SECRET = "clientSecret";
     public static final String ACCESS_TOKEN = "access_token";
+    public static final String EXPIRES_IN = "expires_in";
+    // Tokens which expire within this window are not reused, the window is at most this fraction
+    // of the token lifetime so that short lived tokens are still used
+    public static final long TOKEN_EXPIRY_SKEW_MILLIS = 300000;
+    public static final double TOKEN_EXPIRY_SKEW_FRACTION = 0.25;
+    public static final long MIN_TOKEN_REFRESH_DELAY_MILLIS = 10000;
     public static final String ID = "id";
     public static final String COUNT = "count";
+    public static final String LIST = "list";
+    public static final String PAGINATION = "pagination";
+    public static final String TOTAL = "total";
+    public static final int CATALOG_PAGE_SIZE = 100;
 
     // Error constants
     static final String DUPLICATE_LABEL_ERROR = "Error while adding new Label for";
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.utils;
+
+import io.cellery.cell.api.publisher.beans.controller.ConnectionPoolConfig;
+import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.internals.ConfigManager;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * Holds the process wide pooled HTTP client used for every call to the global API Manager.
+ *
+ * <p>Connections are kept alive and reused across requests, and the single SSL context lets the
+ * TLS sessions be resumed instead of doing a full handshake for each new connection.
+ */
+public class HttpClientProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(HttpClientProvider.class);
+  private static volatile CloseableHttpClient httpClient = null;
+
+  private HttpClientProvider() {}
+
+  /**
+   * Returns the shared http client, building it on first use.
+   *
+   * @return pooled http client
+   * @throws APIException throw API Exception if an error occurred while building the client
+   */
+  public static CloseableHttpClient getHttpClient() throws APIException {
+    if (httpClient == null) {
+      clientInitialize();
+    }
+    return httpClient;
+  }
+
+  /** Closes the shared http client and releases all pooled connections. */
+  public static void close() {
+    synchronized (HttpClientProvider.class) {
+      if (httpClient != null) {
+        try {
+          httpClient.close();
+        } catch (IOException e) {
+          log.error("Error while closing the http client connection", e);
+        }
+        httpClient = null;
+      }
+    }
+  }
+
+  /** Initializes the shared http client */
+  private static void clientInitialize() throws APIException {
+    synchronized (HttpClientProvider.class) {
+      if (httpClient == null) {
+        httpClient = buildHttpClient(ConfigManager.getRestConfiguration().getConnectionPool());
+      }
+    }
+  }
+
+  /**
+   * Build a pooled http client which ignores SSL verification.
+   *
+   * @param poolConfig connection pool configuration
+   * @return pooled http client
+   * @throws APIException throw API Exception if an error occurred while initializing SSL context
+   */
+  private static CloseableHttpClient buildHttpClient(ConnectionPoolConfig poolConfig)
+      throws APIException {
+    try {
+      if (log.isDebugEnabled()) {
+        log.debug("Ignoring SSL verification...");
+      }
+      SSLContext sslContext = SSLContext.getInstance("SSL");
+
+      X509TrustManager x509TrustManager = new RequestProcessor.TrustAllTrustManager();
+      sslContext.init(null, new TrustManager[] {x509TrustManager}, new SecureRandom());
+
+      SSLConnectionSocketFactory sslsocketFactory =
+          new SSLConnectionSocketFactory(
+              sslContext, new String[] {"TLSv1.2"}, null, (s, sslSession) -> true);
+
+      Registry<ConnectionSocketFactory> socketFactoryRegistry =
+          RegistryBuilder.<ConnectionSocketFactory>create()
+              .register("http", PlainConnectionSocketFactory.getSocketFactory())
+              .register("https", sslsocketFactory)
+              .build();
+
+      PoolingHttpClientConnectionManager connectionManager =
+          new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+      connectionManager.setMaxTotal(poolConfig.getMaxConnections());
+      connectionManager.setDefaultMaxPerRoute(poolConfig.getMaxConnectionsPerRoute());
+      connectionManager.setValidateAfterInactivity(
+          Constants.Utils.VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+      long keepAlive = poolConfig.getKeepAlive();
+      ConnectionKeepAliveStrategy keepAliveStrategy =
+          (response, context) -> {
+            // Honour the server keep-alive header, but never hold a connection longer than
+            // the configured limit.
+            long serverKeepAlive =
+                DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(
+                    response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+          };
+
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Creating pooled http client with max connections: "
+                + poolConfig.getMaxConnections()
+                + ", max connections per route: "
+                + poolConfig.getMaxConnectionsPerRoute());
+      }
+      return HttpClients.custom()
+          .setConnectionManager(connectionManager)
+          .setKeepAliveStrategy(keepAliveStrategy)
+          .evictExpiredConnections()
+          .evictIdleConnections(Constants.Utils.IDLE_CONNECTION_EVICT_MILLIS, TimeUnit.MILLISECONDS)
+          .build();
+    } catch (NoSuchAlgorithmException | KeyManagementException e) {
+      String errorMessage =
+          "Error occurred while ignoring ssl certificates to allow http connections";
+      log.error(errorMessage, e);
+      throw new APIException(errorMessage, e);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free log-linear histogram of latencies in microseconds, in the style of HdrHistogram.
+ *
+ * <p>Values below 16 have a bucket each. Above that every power of two is split into 16 linear
+ * buckets, so a recorded value is reported within 1/16 of its true value while the whole range
+ * from a microsecond to days fits in a few hundred counters.
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+  private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalMicros = new AtomicLong();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  /**
+   * Record a latency.
+   *
+   * @param micros latency in microseconds
+   */
+  public void record(long micros) {
+    long value = Math.min(Math.max(0, micros), MAX_VALUE);
+    counts.incrementAndGet(getBucketIndex(value));
+    totalCount.incrementAndGet();
+    totalMicros.addAndGet(value);
+    long max;
+    do {
+      max = maxMicros.get();
+    } while (value > max && !maxMicros.compareAndSet(max, value));
+  }
+
+  /**
+   * Returns the latency below which the given percentage of the recorded latencies fall.
+   *
+   * @param percentile percentile between 0 and 100
+   * @return latency in microseconds, or 0 if nothing was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(getBucketUpperBound(i), maxMicros.get());
+      }
+    }
+    return maxMicros.get();
+  }
+
+  @Override
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  @Override
+  public double getMean() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : toMillis((double) totalMicros.get() / count);
+  }
+
+  @Override
+  public double getMax() {
+    return toMillis(maxMicros.get());
+  }
+
+  @Override
+  public double getP50() {
+    return toMillis(getValueAtPercentile(50));
+  }
+
+  @Override
+  public double getP90() {
+    return toMillis(getValueAtPercentile(90));
+  }
+
+  @Override
+  public double getP99() {
+    return toMillis(getValueAtPercentile(99));
+  }
+
+  @Override
+  public double getP999() {
+    return toMillis(getValueAtPercentile(99.9));
+  }
+
+  private static int getBucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long getBucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  private static double toMillis(double micros) {
+    return micros / 1000;
+  }
+}
@@ -18,29 +18,34 @@
 
 package io.cellery.cell.api.publisher.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.cellery.cell.api.publisher.beans.controller.EndpointTimeoutConfig;
+import io.cellery.cell.api.publisher.beans.controller.TimeoutConfig;
+import io.cellery.cell.api.publisher.beans.response.ErrorResponse;
 import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.internals.ConfigManager;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.X509TrustManager;
 
 /** Utility methods for HTTP request processors */
@@ -48,239 +53,404 @@ public class RequestProcessor {
 
   private static final Logger log = LoggerFactory.getLogger(RequestProcessor.class);
   private CloseableHttpClient httpClient;
+  private RetryPolicy retryPolicy;
+  private TimeoutConfig timeoutConfig;
 
   public RequestProcessor() throws APIException {
-    try {
-      if (log.isDebugEnabled()) {
-        log.debug("Ignoring SSL verification...");
-      }
-      SSLContext sslContext = SSLContext.getInstance("SSL");
-
-      X509TrustManager x509TrustManager = new TrustAllTrustManager();
-      sslContext.init(null, new TrustManager[] {x509TrustManager}, new SecureRandom());
-
-      SSLConnectionSocketFactory sslsocketFactory =
-          new SSLConnectionSocketFactory(
-              sslContext, new String[] {"TLSv1.2"}, null, (s, sslSession) -> true);
-
-      httpClient = HttpClients.custom().setSSLSocketFactory(sslsocketFactory).build();
-    } catch (NoSuchAlgorithmException | KeyManagementException e) {
-      String errorMessage =
-          "Error occurred while ignoring ssl certificates to allow http connections";
-      log.error(errorMessage, e);
-      throw new APIException(errorMessage, e);
-    }
+    httpClient = HttpClientProvider.getHttpClient();
+    retryPolicy = new RetryPolicy(ConfigManager.getRestConfiguration().getRetry());
+    timeoutConfig = ConfigManager.getRestConfiguration().getTimeouts();
   }
 
   /**
    * Execute http get request.
    *
+   * @param endpoint class of the API Manager endpoint
    * @param url url
    * @param contentType content type
    * @param acceptType accept type
    * @param authHeader authorization header
-   * @return Closable http response
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return status code and decoded body of the response
    * @throws APIException Api exception when an error occurred
    */
-  public String doGet(String url, String contentType, String acceptType, String authHeader)
+  public <T> ApimResponse<T> doGet(
+      ApimEndpoint endpoint,
+      String url,
+      String contentType,
+      String acceptType,
+      String authHeader,
+      Class<T> responseType)
       throws APIException {
-    String returnObj = null;
-    try {
-      if (log.isDebugEnabled()) {
-        log.debug("Get utl: " + url);
-        log.debug("Get auth header: " + authHeader);
-      }
-      HttpGet httpGet = new HttpGet(url);
-      httpGet.setHeader(Constants.Utils.HTTP_CONTENT_TYPE, contentType);
-      httpGet.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
-      httpGet.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
-
-      CloseableHttpResponse response = httpClient.execute(httpGet);
-      HttpEntity entity = response.getEntity();
-      String responseStr = EntityUtils.toString(entity);
-      int statusCode = response.getStatusLine().getStatusCode();
-
-      if (log.isDebugEnabled()) {
-        log.debug("Response status code: " + statusCode);
-        log.debug("Response string : " + responseStr);
-      }
-      if (responseValidate(statusCode, responseStr)) {
-        returnObj = responseStr;
-      }
-      closeClientConnection();
-    } catch (IOException e) {
-      String errorMessage = "Error occurred while executing the http Get connection.";
-      log.error(errorMessage, e);
-      throw new APIException(errorMessage, e);
+    if (log.isDebugEnabled()) {
+      log.debug("Get utl: " + url);
+      log.debug("Get auth header: " + authHeader);
     }
-    return returnObj;
+    HttpGet httpGet = new HttpGet(url);
+    return execute(httpGet, endpoint, contentType, acceptType, authHeader, responseType);
   }
 
   /**
    * Execute http post request
    *
+   * @param endpoint class of the API Manager endpoint
    * @param url url
    * @param contentType content type
    * @param acceptType accept type
    * @param authHeader authorization header
    * @param payload post payload
-   * @return Closable http response
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return status code and decoded body of the response
    * @throws APIException Api exception when an error occurred
    */
-  public String doPost(
-      String url, String contentType, String acceptType, String authHeader, String payload)
+  public <T> ApimResponse<T> doPost(
+      ApimEndpoint endpoint,
+      String url,
+      String contentType,
+      String acceptType,
+      String authHeader,
+      String payload,
+      Class<T> responseType)
       throws APIException {
-    String returnObj = null;
-    try {
-      if (log.isDebugEnabled()) {
-        log.debug("Post payload: " + payload);
-        log.debug("Post auth header: " + authHeader);
-      }
-      StringEntity payloadEntity = new StringEntity(payload);
-      HttpPost httpPost = new HttpPost(url);
-      httpPost.setHeader(Constants.Utils.HTTP_CONTENT_TYPE, contentType);
-      httpPost.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
-      httpPost.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
-      httpPost.setEntity(payloadEntity);
-
-      CloseableHttpResponse response = httpClient.execute(httpPost);
-      HttpEntity entity = response.getEntity();
-      String responseStr = EntityUtils.toString(entity);
-      int statusCode = response.getStatusLine().getStatusCode();
-
-      if (log.isDebugEnabled()) {
-        log.debug("Response status code: " + statusCode);
-        log.debug("Response string : " + responseStr);
-      }
-      if (responseValidate(statusCode, responseStr)) {
-        returnObj = responseStr;
-      }
-      closeClientConnection();
-    } catch (IOException e) {
-      String errorMessage = "Error occurred while executing the http Post connection.";
-      log.error(errorMessage, e);
-      throw new APIException(errorMessage, e);
+    if (log.isDebugEnabled()) {
+      log.debug("Post payload: " + payload);
+      log.debug("Post auth header: " + authHeader);
     }
-    return returnObj;
+    HttpPost httpPost = new HttpPost(url);
+    httpPost.setEntity(createEntity(payload));
+    return execute(httpPost, endpoint, contentType, acceptType, authHeader, responseType);
   }
 
   /**
    * Execute http put request
    *
+   * @param endpoint class of the API Manager endpoint
    * @param url url
    * @param contentType content type
    * @param acceptType accept type
    * @param authHeader authorization header
    * @param payload put payload
-   * @return Closable http response
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return status code and decoded body of the response
    * @throws APIException Api exception when an error occurred
    */
-  public String doPut(
-      String url, String contentType, String acceptType, String authHeader, String payload)
+  public <T> ApimResponse<T> doPut(
+      ApimEndpoint endpoint,
+      String url,
+      String contentType,
+      String acceptType,
+      String authHeader,
+      String payload,
+      Class<T> responseType)
       throws APIException {
-    String returnObj = null;
-    try {
+    if (log.isDebugEnabled()) {
+      log.debug("Put payload: " + payload);
+      log.debug("Put auth header: " + authHeader);
+    }
+    HttpPut httpPut = new HttpPut(url);
+    httpPut.setEntity(createEntity(payload));
+    return execute(httpPut, endpoint, contentType, acceptType, authHeader, responseType);
+  }
+
+  /**
+   * Execute the http request on the shared client and decode the response. A request which is
+   * rejected because of an expired access token is replayed once with a new token.
+   *
+   * @param request http request
+   * @param endpoint class of the API Manager endpoint
+   * @param contentType content type
+   * @param acceptType accept type
+   * @param authHeader authorization header
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return status code and decoded body of the response
+   * @throws APIException Api exception when an error occurred or the response cannot be decoded
+   */
+  private <T> ApimResponse<T> execute(
+      HttpRequestBase request,
+      ApimEndpoint endpoint,
+      String contentType,
+      String acceptType,
+      String authHeader,
+      Class<T> responseType)
+      throws APIException {
+    request.setConfig(getRequestConfig(endpoint));
+    request.setHeader(Constants.Utils.HTTP_CONTENT_TYPE, contentType);
+    request.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
+    request.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
+
+    HttpResult<T> result = executeWithRetry(request, endpoint, responseType);
+    if (result.response.getStatusCode() == HttpURLConnection.HTTP_UNAUTHORIZED
+        && authHeader.startsWith(Constants.Utils.BEARER)) {
+      String rejectedToken = authHeader.substring(Constants.Utils.BEARER.length());
+      String newToken = ConfigManager.refreshAccessToken(rejectedToken);
+      request.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, Constants.Utils.BEARER + newToken);
       if (log.isDebugEnabled()) {
-        log.debug("Put payload: " + payload);
-        log.debug("Put auth header: " + authHeader);
+        log.debug("Replaying " + request.getMethod() + " request with a new access token");
       }
-      StringEntity payloadEntity = new StringEntity(payload);
-      HttpPut httpPut = new HttpPut(url);
-      httpPut.setHeader(Constants.Utils.HTTP_CONTENT_TYPE, contentType);
-      httpPut.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
-      httpPut.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
-      httpPut.setEntity(payloadEntity);
+      result = executeWithRetry(request, endpoint, responseType);
+    }
 
-      CloseableHttpResponse response = httpClient.execute(httpPut);
+    if (result.decodeError != null) {
+      throw new APIException(
+          "Error while decoding the response of " + request.getURI(), result.decodeError);
+    }
+    return result.response;
+  }
+
+  /**
+   * Execute the http request, retrying connection failures and retryable status codes according
+   * to the retry policy.
+   *
+   * @param request http request
+   * @param endpoint class of the API Manager endpoint
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return decoded response of the last attempt
+   * @throws APIException Api exception when the request could not be executed
+   */
+  private <T> HttpResult<T> executeWithRetry(
+      HttpRequestBase request, ApimEndpoint endpoint, Class<T> responseType) throws APIException {
+    CircuitBreaker circuitBreaker =
+        CircuitBreaker.forHost(
+            request.getURI().getAuthority(),
+            ConfigManager.getRestConfiguration().getCircuitBreaker());
+    int attempt = 1;
+    while (true) {
+      long delay;
+      circuitBreaker.acquirePermission();
+      boolean outcomeRecorded = false;
+      try {
+        HttpResult<T> result = executeOnce(request, endpoint, responseType);
+        int statusCode = result.response.getStatusCode();
+        if (isServerFailure(statusCode)) {
+          circuitBreaker.onFailure("HTTP status " + statusCode);
+        } else {
+          circuitBreaker.onSuccess();
+        }
+        outcomeRecorded = true;
+        if (!retryPolicy.isRetryable(statusCode) || !retryPolicy.canRetry(attempt)) {
+          return result;
+        }
+        delay = retryPolicy.getDelay(attempt, result.retryAfter);
+        log.warn(
+            request.getMethod()
+                + " "
+                + request.getURI()
+                + " returned status "
+                + statusCode
+                + ", retrying in "
+                + delay
+                + " ms (attempt "
+                + attempt
+                + ")");
+      } catch (ConnectionPoolTimeoutException e) {
+        // The request never left this process, so the API Manager is not to blame
+        String errorMessage =
+            "Timed out waiting for a pooled connection to execute the http "
+                + request.getMethod()
+                + " connection.";
+        log.error(errorMessage, e);
+        throw new APIException(errorMessage, e);
+      } catch (IOException e) {
+        circuitBreaker.onFailure(e.toString());
+        outcomeRecorded = true;
+        if (!retryPolicy.isRetryable(e, request.getMethod()) || !retryPolicy.canRetry(attempt)) {
+          String errorMessage =
+              "Error occurred while executing the http " + request.getMethod() + " connection.";
+          log.error(errorMessage, e);
+          throw new APIException(errorMessage, e);
+        }
+        delay = retryPolicy.getDelay(attempt, -1);
+        log.warn(
+            request.getMethod()
+                + " "
+                + request.getURI()
+                + " failed with "
+                + e.getClass().getSimpleName()
+                + ", retrying in "
+                + delay
+                + " ms (attempt "
+                + attempt
+                + ")");
+      } finally {
+        if (!outcomeRecorded) {
+          circuitBreaker.releasePermission();
+        }
+      }
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new APIException("Interrupted while waiting to retry " + request.getURI(), e);
+      }
+      attempt++;
+    }
+  }
+
+  /**
+   * Execute the http request once on the shared client and decode the response.
+   *
+   * <p>The body is decoded straight from the response stream, into the response type for a
+   * successful response and into an {@link ErrorResponse} otherwise, without reading it into a
+   * string first. The response is always consumed and closed so that the underlying connection is
+   * released back to the pool. The latency of the attempt, including decoding the response, is
+   * recorded in the latency histogram of the endpoint whether or not it succeeds.
+   *
+   * @param request http request
+   * @param endpoint class of the API Manager endpoint
+   * @param responseType bean type of a successful response body
+   * @param <T> bean type of a successful response body
+   * @return decoded response
+   * @throws IOException IO exception when the request could not be executed
+   */
+  private <T> HttpResult<T> executeOnce(
+      HttpRequestBase request, ApimEndpoint endpoint, Class<T> responseType) throws IOException {
+    long startTime = System.nanoTime();
+    try (CloseableHttpResponse response = httpClient.execute(request)) {
       HttpEntity entity = response.getEntity();
-      String responseStr = EntityUtils.toString(entity);
       int statusCode = response.getStatusLine().getStatusCode();
-
+      long retryAfter = getRetryAfter(response);
       if (log.isDebugEnabled()) {
         log.debug("Response status code: " + statusCode);
-        log.debug("Response string : " + responseStr);
       }
-      if (responseValidate(statusCode, responseStr)) {
-        returnObj = responseStr;
+      try {
+        if (ApimResponse.isSuccess(statusCode)) {
+          T body = null;
+          if (entity != null && responseType != Void.class) {
+            body = JsonCodec.readResponse(entity.getContent(), responseType);
+          }
+          return new HttpResult<>(ApimResponse.success(statusCode, body), retryAfter, null);
+        }
+        ApimResponse<T> failure = ApimResponse.failure(statusCode, readError(entity));
+        if (log.isDebugEnabled()) {
+          log.debug("Response error: " + failure.getErrorMessage());
+        }
+        return new HttpResult<>(failure, retryAfter, null);
+      } catch (JsonProcessingException e) {
+        return new HttpResult<>(ApimResponse.<T>failure(statusCode, null), retryAfter, e);
+      } finally {
+        EntityUtils.consume(entity);
+      }
+    } finally {
+      LatencyHistograms.record(
+          endpoint, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+    }
+  }
+
+  /**
+   * Decode the error body of a failed response. Errors which are not returned by API Manager
+   * itself, such as the error pages of a proxy, do not have a JSON error body.
+   *
+   * @param entity response entity
+   * @return error body, null if the response does not have a JSON error body
+   * @throws IOException IO exception when the body could not be read
+   */
+  private static ErrorResponse readError(HttpEntity entity) throws IOException {
+    if (entity == null) {
+      return null;
+    }
+    try {
+      return JsonCodec.readResponse(entity.getContent(), ErrorResponse.class);
+    } catch (JsonProcessingException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Response does not have a JSON error body", e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Build the request configuration with the timeouts of the endpoint class, falling back to the
+   * default timeouts for values which are not configured for the endpoint.
+   *
+   * @param endpoint class of the API Manager endpoint
+   * @return request configuration
+   */
+  private RequestConfig getRequestConfig(ApimEndpoint endpoint) {
+    EndpointTimeoutConfig endpointTimeouts =
+        timeoutConfig.getEndpoints().get(endpoint.getConfigKey());
+    int connectTimeout = timeoutConfig.getConnectTimeout();
+    int socketTimeout = timeoutConfig.getSocketTimeout();
+    int connectionRequestTimeout = timeoutConfig.getConnectionRequestTimeout();
+    if (endpointTimeouts != null) {
+      if (endpointTimeouts.getConnectTimeout() != null) {
+        connectTimeout = endpointTimeouts.getConnectTimeout();
+      }
+      if (endpointTimeouts.getSocketTimeout() != null) {
+        socketTimeout = endpointTimeouts.getSocketTimeout();
+      }
+      if (endpointTimeouts.getConnectionRequestTimeout() != null) {
+        connectionRequestTimeout = endpointTimeouts.getConnectionRequestTimeout();
       }
-      closeClientConnection();
-    } catch (IOException e) {
-      String errorMessage = "Error occurred while executing the http Put connection.";
-      log.error(errorMessage, e);
-      throw new APIException(errorMessage, e);
     }
-    return returnObj;
+    return RequestConfig.custom()
+        .setConnectTimeout(connectTimeout)
+        .setSocketTimeout(socketTimeout)
+        .setConnectionRequestTimeout(connectionRequestTimeout)
+        .build();
+  }
+
+  /**
+   * Check whether the status code shows that API Manager is failing or overloaded, as opposed to
+   * rejecting the request itself.
+   *
+   * @param statusCode http status code
+   * @return true if the status code counts as a failure of API Manager
+   */
+  private static boolean isServerFailure(int statusCode) {
+    return statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR
+        || statusCode == Constants.Utils.HTTP_TOO_MANY_REQUESTS;
   }
 
   /**
-   * Close http client connection
+   * Read the delay requested by the server through the Retry-After header.
    *
-   * @throws IOException throws an IO exception if an error occurred while closing the connection.
+   * @param response http response
+   * @return delay in milliseconds, -1 if the header is not available or not in seconds
    */
-  private void closeClientConnection() throws IOException {
-    if (httpClient != null) {
+  private static long getRetryAfter(HttpResponse response) {
+    Header retryAfterHeader = response.getFirstHeader(Constants.Utils.HTTP_RES_HEADER_RETRY_AFTER);
+    if (retryAfterHeader != null) {
       try {
-        httpClient.close();
-      } catch (IOException e) {
-        log.error("Error while closing the http client connection", e);
-        throw e;
+        return Long.parseLong(retryAfterHeader.getValue().trim()) * 1000;
+      } catch (NumberFormatException e) {
+        // Retry-After can also be a http date, fall back to the retry policy.
       }
     }
+    return -1;
   }
 
   /**
-   * Validate the http response.
+   * Create request entity from the payload.
    *
-   * @param statusCode status code
-   * @return boolean to validate response
+   * @param payload request payload
+   * @return string entity
+   * @throws APIException Api exception when the payload cannot be encoded
    */
-  private boolean responseValidate(int statusCode, String response) {
-    boolean isValid = false;
-    switch (statusCode) {
-      case HttpURLConnection.HTTP_OK:
-        isValid = true;
-        break;
-      case HttpURLConnection.HTTP_CREATED:
-        isValid = true;
-        break;
-      case HttpURLConnection.HTTP_ACCEPTED:
-        isValid = true;
-        break;
-      case HttpURLConnection.HTTP_BAD_REQUEST:
-        if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-          if (response.contains(Constants.Utils.DIFFERENT_CONTEXT_ERROR)
-              || response.contains(Constants.Utils.DUPLICATE_CONTEXT_ERROR)) {
-            // skip the error when trying to add the same api with different context.
-            isValid = true;
-          }
-        }
-        break;
-      case HttpURLConnection.HTTP_UNAUTHORIZED:
-        isValid = false;
-        break;
-      case HttpURLConnection.HTTP_NOT_FOUND:
-        isValid = false;
-        break;
-      case HttpURLConnection.HTTP_CONFLICT:
-        if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-          if (response.contains(Constants.Utils.DUPLICATE_API_ERROR)) {
-            // skip the error when trying to add the same api.
-            isValid = true;
-          }
-        }
-        break;
-      case HttpURLConnection.HTTP_INTERNAL_ERROR:
-        if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-          if (response.contains(Constants.Utils.DUPLICATE_LABEL_ERROR)) {
-            // skip the error when trying to add the same label.
-            isValid = true;
-          }
-        }
-        break;
-      default:
-        isValid = false;
+  private StringEntity createEntity(String payload) throws APIException {
+    try {
+      return new StringEntity(payload);
+    } catch (UnsupportedEncodingException e) {
+      throw new APIException("Error while encoding the request payload", e);
+    }
+  }
+
+  /** Decoded response of an http request and the retry delay requested by the server. */
+  private static class HttpResult<T> {
+    private final ApimResponse<T> response;
+    private final long retryAfter;
+    private final JsonProcessingException decodeError;
+
+    private HttpResult(
+        ApimResponse<T> response, long retryAfter, JsonProcessingException decodeError) {
+      this.response = response;
+      this.retryAfter = retryAfter;
+      this.decodeError = decodeError;
     }
-    return isValid;
   }
 
   /** Trust Manager which trusts all certificates. */
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher.utils;
+
+import io.cellery.cell.api.publisher.beans.controller.RetryConfig;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed call to the global API Manager is retried and how long to wait before
+ * the next attempt. Delays grow exponentially from the base delay up to the max delay, and a
+ * random part of each delay is dropped so that clients do not retry in lock step.
+ */
+public class RetryPolicy {
+
+  private final int maxAttempts;
+  private final long baseDelay;
+  private final long maxDelay;
+  private final double jitter;
+  private final Set<Integer> retryableStatusCodes;
+
+  public RetryPolicy(RetryConfig retryConfig) {
+    this.maxAttempts = Math.max(1, retryConfig.getMaxAttempts());
+    this.baseDelay = Math.max(0, retryConfig.getBaseDelay());
+    this.maxDelay = Math.max(this.baseDelay, retryConfig.getMaxDelay());
+    this.jitter = Math.min(1, Math.max(0, retryConfig.getJitter()));
+    this.retryableStatusCodes = new HashSet<>(retryConfig.getRetryableStatusCodes());
+  }
+
+  /**
+   * Check whether another attempt is allowed.
+   *
+   * @param attempt number of the attempt which failed, starting from 1
+   * @return true if the request can be attempted again
+   */
+  public boolean canRetry(int attempt) {
+    return attempt < maxAttempts;
+  }
+
+  /**
+   * Check whether a response with the status code is worth retrying.
+   *
+   * @param statusCode http status code
+   * @return true if the status code is retryable
+   */
+  public boolean isRetryable(int statusCode) {
+    return retryableStatusCodes.contains(statusCode);
+  }
+
+  /**
+   * Check whether a request which failed with the exception is worth retrying. Connection failures
+   * are always retryable as the request did not reach the server. Read timeouts and responses which
+   * were never received are retried only for idempotent methods, as the server may already have
+   * processed the request.
+   *
+   * @param e exception thrown while executing the request
+   * @param method http method of the request
+   * @return true if the request can be retried
+   */
+  public boolean isRetryable(IOException e, String method) {
+    if (e instanceof ConnectTimeoutException || e instanceof ConnectException) {
+      return true;
+    }
+    return (e instanceof SocketTimeoutException || e instanceof NoHttpResponseException)
+        && isIdempotent(method);
+  }
+
+  /**
+   * Check whether sending the request more than once has the same effect as sending it once.
+   *
+   * @param method http method of the request
+   * @return true if the method is idempotent
+   */
+  private static boolean isIdempotent(String method) {
+    return !"POST".equals(method) && !"PATCH".equals(method);
+  }
+
+  /**
+   * Returns the time to wait before the next attempt.
+   *
+   * @param attempt number of the attempt which failed, starting from 1
+   * @param retryAfter delay requested by the server in milliseconds, negative if not requested
+   * @return delay in milliseconds
+   */
+  public long getDelay(int attempt, long retryAfter) {
+    if (retryAfter >= 0) {
+      return Math.min(retryAfter, maxDelay);
+    }
+    long delay = baseDelay << Math.min(attempt - 1, 30);
+    if (delay <= 0 || delay > maxDelay) {
+      delay = maxDelay;
+    }
+    return delay - (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+  }
+}
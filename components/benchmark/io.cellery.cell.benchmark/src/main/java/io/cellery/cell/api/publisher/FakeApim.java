@@ -0,0 +1,453 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+import io.cellery.cell.api.publisher.utils.Constants;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the publisher REST API of the global API Manager, built on the JDK
+ * HttpServer.
+ *
+ * <p>It serves the calls made by the api publisher: client registration, token, API search by
+ * {@code query=}, create, copy-api with a new version, update and change-lifecycle. APIs are kept
+ * in memory. A latency and an error rate can be injected for each endpoint class, where an error
+ * is a 503 response which the publisher is expected to retry.
+ */
+public class FakeApim {
+
+  private static final Logger log = LoggerFactory.getLogger(FakeApim.class);
+  private static final String API_VERSION = "v0.14";
+  private static final String PUBLISHER_APIS_PATH =
+      Constants.Utils.PATH_PUBLISHER + API_VERSION + Constants.Utils.PATH_APIS;
+  private static final String COPY_API_PATH = PUBLISHER_APIS_PATH + "/copy-api";
+  private static final String LIFECYCLE_PATH = PUBLISHER_APIS_PATH + "/change-lifecycle";
+  private static final String TOKEN_PATH = "/token";
+  private static final String ACCESS_TOKEN = "fake-access-token";
+  private static final long TOKEN_VALIDITY_SECONDS = 3600;
+  private static final int READ_BUFFER_SIZE = 8192;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, ObjectNode> apis = new ConcurrentHashMap<>();
+  private final Map<ApimEndpoint, Long> latencies = new EnumMap<>(ApimEndpoint.class);
+  private final Map<ApimEndpoint, Double> errorRates = new EnumMap<>(ApimEndpoint.class);
+  private final Map<ApimEndpoint, AtomicLong> requestCounts = new EnumMap<>(ApimEndpoint.class);
+  private final int threads;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * Create a fake API Manager with the same latency and error rate for every endpoint class.
+   *
+   * @param latencyMillis latency added to every response
+   * @param errorRate fraction of requests answered with 503, between 0 and 1
+   * @param threads number of threads serving requests
+   */
+  public FakeApim(long latencyMillis, double errorRate, int threads) {
+    this.threads = threads;
+    for (ApimEndpoint endpoint : ApimEndpoint.values()) {
+      latencies.put(endpoint, latencyMillis);
+      errorRates.put(endpoint, errorRate);
+      requestCounts.put(endpoint, new AtomicLong());
+    }
+  }
+
+  /**
+   * Override the latency of an endpoint class. Must be called before {@link #start()}.
+   *
+   * @param endpoint class of the API Manager endpoint
+   * @param latencyMillis latency added to every response
+   */
+  public void setLatency(ApimEndpoint endpoint, long latencyMillis) {
+    latencies.put(endpoint, latencyMillis);
+  }
+
+  /**
+   * Override the error rate of an endpoint class. Must be called before {@link #start()}.
+   *
+   * @param endpoint class of the API Manager endpoint
+   * @param errorRate fraction of requests answered with 503, between 0 and 1
+   */
+  public void setErrorRate(ApimEndpoint endpoint, double errorRate) {
+    errorRates.put(endpoint, errorRate);
+  }
+
+  /**
+   * Add an API which already exists before the publisher runs.
+   *
+   * @param cellNameProperty value of the cell name property the API is tagged with
+   * @param context API context without the leading slash
+   * @param version API version
+   * @return API Id
+   */
+  public String addApi(String cellNameProperty, String context, String version) {
+    ObjectNode api = objectMapper.createObjectNode();
+    api.put(Constants.JsonParamNames.CONTEXT, context);
+    api.put(Constants.JsonParamNames.VERSION, version);
+    api.putObject(Constants.JsonParamNames.ADDITIONAL_PROPERTIES)
+        .put(Constants.Utils.CELL_NAME_PROPERTY, cellNameProperty);
+    return store(api);
+  }
+
+  /**
+   * Start serving on an ephemeral port of the loopback interface.
+   *
+   * @return base URL of the fake API Manager
+   * @throws IOException if the server could not be started
+   */
+  public String start() throws IOException {
+    // Without TCP_NODELAY the separately written headers and body of small responses are held
+    // back by delayed ACKs, adding about 40 ms to every call.
+    System.setProperty("sun.net.httpserver.nodelay", Boolean.TRUE.toString());
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "fake-apim");
+              thread.setDaemon(true);
+              return thread;
+            });
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  /** Stop the server. */
+  public void stop() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the version of the publisher REST API served.
+   *
+   * @return REST API version
+   */
+  public String getApiVersion() {
+    return API_VERSION;
+  }
+
+  /**
+   * Returns the path of the token endpoint.
+   *
+   * @return token endpoint path
+   */
+  public String getTokenPath() {
+    return TOKEN_PATH;
+  }
+
+  /**
+   * Returns the number of requests received for an endpoint class, including the failed ones.
+   *
+   * @param endpoint class of the API Manager endpoint
+   * @return number of requests
+   */
+  public long getRequestCount(ApimEndpoint endpoint) {
+    return requestCounts.get(endpoint).get();
+  }
+
+  /**
+   * Returns the number of APIs held.
+   *
+   * @return number of APIs
+   */
+  public int getApiCount() {
+    return apis.size();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath();
+      Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+      byte[] body = readBody(exchange.getRequestBody());
+
+      ApimEndpoint endpoint = route(method, path, query);
+      if (endpoint == null) {
+        respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, error(404, "No resource at " + path));
+        return;
+      }
+      requestCounts.get(endpoint).incrementAndGet();
+      Thread.sleep(latencies.get(endpoint));
+      if (ThreadLocalRandom.current().nextDouble() < errorRates.get(endpoint)) {
+        respond(exchange, HttpURLConnection.HTTP_UNAVAILABLE, error(503, "Injected failure"));
+        return;
+      }
+      switch (endpoint) {
+        case DCR:
+          respondRegister(exchange);
+          break;
+        case TOKEN:
+          respondToken(exchange);
+          break;
+        case SEARCH:
+          respondSearch(exchange, query);
+          break;
+        case CREATE:
+          respondCreate(exchange, body);
+          break;
+        case NEW_VERSION:
+          respondNewVersion(exchange, query);
+          break;
+        case UPDATE:
+          respondUpdate(exchange, path.substring(PUBLISHER_APIS_PATH.length() + 1), body);
+          break;
+        case LIFECYCLE:
+          respondLifecycle(exchange, query);
+          break;
+        default:
+          respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, error(404, "No resource at " + path));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.error("Error while serving " + exchange.getRequestURI(), e);
+      respond(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, error(500, e.toString()));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static ApimEndpoint route(String method, String path, Map<String, String> query) {
+    if (path.startsWith(Constants.Utils.PATH_CLIENT_REGISTRATION)
+        && path.endsWith(Constants.Utils.PATH_REGISTER)) {
+      return ApimEndpoint.DCR;
+    } else if (path.equals(TOKEN_PATH)) {
+      return ApimEndpoint.TOKEN;
+    } else if (path.equals(PUBLISHER_APIS_PATH)) {
+      if ("GET".equals(method) && query.containsKey("query")) {
+        return ApimEndpoint.SEARCH;
+      }
+      return "POST".equals(method) ? ApimEndpoint.CREATE : null;
+    } else if (path.equals(COPY_API_PATH)) {
+      return ApimEndpoint.NEW_VERSION;
+    } else if (path.equals(LIFECYCLE_PATH)) {
+      return ApimEndpoint.LIFECYCLE;
+    } else if (path.startsWith(PUBLISHER_APIS_PATH + "/") && "PUT".equals(method)) {
+      return ApimEndpoint.UPDATE;
+    }
+    return null;
+  }
+
+  private void respondRegister(HttpExchange exchange) throws IOException {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put(Constants.Utils.CLIENT_ID, UUID.randomUUID().toString());
+    response.put(Constants.Utils.CLIENT_SECRET, UUID.randomUUID().toString());
+    respond(exchange, HttpURLConnection.HTTP_OK, response);
+  }
+
+  private void respondToken(HttpExchange exchange) throws IOException {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put(Constants.Utils.ACCESS_TOKEN, ACCESS_TOKEN);
+    response.put(Constants.Utils.EXPIRES_IN, TOKEN_VALIDITY_SECONDS);
+    respond(exchange, HttpURLConnection.HTTP_OK, response);
+  }
+
+  private void respondSearch(HttpExchange exchange, Map<String, String> query)
+      throws IOException {
+    String[] condition = query.get("query").split(":", 2);
+    int limit = Integer.parseInt(query.getOrDefault("limit", "25"));
+    int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+
+    List<ObjectNode> matches = new ArrayList<>();
+    for (ObjectNode api : apis.values()) {
+      JsonNode value = api.path(Constants.JsonParamNames.ADDITIONAL_PROPERTIES).path(condition[0]);
+      if (condition.length == 2 && condition[1].equals(value.asText())) {
+        matches.add(api);
+      }
+    }
+    matches.sort(Comparator.comparing(api -> api.get(Constants.JsonParamNames.ID).asText()));
+
+    ObjectNode response = objectMapper.createObjectNode();
+    ArrayNode list = response.putArray(Constants.Utils.LIST);
+    for (int i = offset; i < Math.min(matches.size(), offset + limit); i++) {
+      ObjectNode api = matches.get(i);
+      ObjectNode apiInfo = list.addObject();
+      apiInfo.put(Constants.JsonParamNames.ID, api.get(Constants.JsonParamNames.ID).asText());
+      apiInfo.put(
+          Constants.JsonParamNames.CONTEXT,
+          "/"
+              + api.get(Constants.JsonParamNames.CONTEXT).asText()
+              + "/"
+              + api.get(Constants.JsonParamNames.VERSION).asText());
+      apiInfo.put(
+          Constants.JsonParamNames.VERSION, api.get(Constants.JsonParamNames.VERSION).asText());
+    }
+    response.put(Constants.Utils.COUNT, list.size());
+    response
+        .putObject(Constants.Utils.PAGINATION)
+        .put("offset", offset)
+        .put("limit", limit)
+        .put(Constants.Utils.TOTAL, matches.size());
+    respond(exchange, HttpURLConnection.HTTP_OK, response);
+  }
+
+  private void respondCreate(HttpExchange exchange, byte[] body) throws IOException {
+    ObjectNode api = (ObjectNode) objectMapper.readTree(body);
+    String context = api.path(Constants.JsonParamNames.CONTEXT).asText();
+    String version = api.path(Constants.JsonParamNames.VERSION).asText();
+    synchronized (apis) {
+      for (ObjectNode existing : apis.values()) {
+        if (context.equals(existing.get(Constants.JsonParamNames.CONTEXT).asText())
+            && version.equals(existing.get(Constants.JsonParamNames.VERSION).asText())) {
+          respond(
+              exchange,
+              HttpURLConnection.HTTP_CONFLICT,
+              error(
+                  409,
+                  Constants.Utils.DUPLICATE_API_ERROR
+                      + " "
+                      + api.path(Constants.JsonParamNames.NAME).asText()
+                      + "-"
+                      + version));
+          return;
+        }
+      }
+      store(api);
+    }
+    respond(exchange, HttpURLConnection.HTTP_CREATED, api);
+  }
+
+  private void respondNewVersion(HttpExchange exchange, Map<String, String> query)
+      throws IOException {
+    ObjectNode existing = apis.get(query.get("apiId"));
+    if (existing == null) {
+      respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, error(404, "No API " + query));
+      return;
+    }
+    ObjectNode api = existing.deepCopy();
+    api.put(Constants.JsonParamNames.VERSION, query.get("newVersion"));
+    store(api);
+    respond(exchange, HttpURLConnection.HTTP_CREATED, api);
+  }
+
+  private void respondUpdate(HttpExchange exchange, String id, byte[] body) throws IOException {
+    ObjectNode existing = apis.get(id);
+    if (existing == null) {
+      respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, error(404, "No API with id " + id));
+      return;
+    }
+    ObjectNode api = existing.deepCopy();
+    api.setAll((ObjectNode) objectMapper.readTree(body));
+    api.put(Constants.JsonParamNames.ID, id);
+    apis.put(id, api);
+    respond(exchange, HttpURLConnection.HTTP_OK, api);
+  }
+
+  private void respondLifecycle(HttpExchange exchange, Map<String, String> query)
+      throws IOException {
+    ObjectNode api = apis.get(query.get("apiId"));
+    if (api == null) {
+      respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, error(404, "No API " + query));
+      return;
+    }
+    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, -1);
+  }
+
+  private String store(ObjectNode api) {
+    String id = UUID.randomUUID().toString();
+    api.put(Constants.JsonParamNames.ID, id);
+    apis.put(id, api);
+    return id;
+  }
+
+  private ObjectNode error(int code, String description) {
+    ObjectNode error = objectMapper.createObjectNode();
+    error.put(Constants.JsonParamNames.CODE, code);
+    error.put(
+        Constants.JsonParamNames.MESSAGE,
+        EnglishReasonPhraseCatalog.INSTANCE.getReason(code, Locale.ENGLISH));
+    error.put(Constants.JsonParamNames.DESCRIPTION, description);
+    return error;
+  }
+
+  private void respond(HttpExchange exchange, int statusCode, JsonNode response)
+      throws IOException {
+    byte[] content = objectMapper.writeValueAsBytes(response);
+    exchange
+        .getResponseHeaders()
+        .set("Content-Type", Constants.Utils.CONTENT_TYPE_APPLICATION_JSON);
+    exchange.sendResponseHeaders(statusCode, content.length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(content);
+    }
+  }
+
+  private static byte[] readBody(InputStream inputStream) throws IOException {
+    byte[] buffer = new byte[READ_BUFFER_SIZE];
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      outputStream.write(buffer, 0, read);
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery)
+      throws UnsupportedEncodingException {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery == null) {
+      return query;
+    }
+    for (String parameter : rawQuery.split("&")) {
+      String[] pair = parameter.split("=", 2);
+      query.put(
+          URLDecoder.decode(pair[0], StandardCharsets.UTF_8.name()),
+          pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8.name()) : "");
+    }
+    return query;
+  }
+}
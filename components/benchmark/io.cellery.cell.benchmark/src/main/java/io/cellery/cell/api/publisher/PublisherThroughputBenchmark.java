@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cellery.cell.api.publisher.beans.controller.Cell;
+import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.utils.ApimEndpoint;
+import io.cellery.cell.api.publisher.utils.Constants;
+import io.cellery.cell.api.publisher.utils.HttpClientProvider;
+import io.cellery.cell.api.publisher.utils.LatencyHistogram;
+import io.cellery.cell.api.publisher.utils.LatencyHistograms;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs the whole api publisher flow against a {@link FakeApim} and reports the number of APIs
+ * published per second and the latency percentiles of each phase, as seen by the publisher.
+ *
+ * <p>Usage: {@code PublisherThroughputBenchmark [apis] [existing] [latency] [errors] [concurrency]}
+ *
+ * <ul>
+ *   <li>apis: number of global APIs of the cell, 1000 by default
+ *   <li>existing: fraction of the APIs which already exist with an older version and go through
+ *       copy-api and update instead of create, 0 by default
+ *   <li>latency: latency added by the fake API Manager to every response in milliseconds, 5 by
+ *       default
+ *   <li>errors: fraction of requests the fake API Manager fails with 503, 0 by default
+ *   <li>concurrency: maximum number of APIs handled at the same time, 4 by default
+ * </ul>
+ *
+ * <p>The process runs the publisher once, so that the results are not skewed by the
+ * configuration, token and catalog already loaded by an earlier run.
+ */
+public class PublisherThroughputBenchmark {
+
+  private static final int DEFINITIONS_PER_API = 10;
+  private static final String EXISTING_VERSION = "0.9.0";
+
+  public static void main(String[] args) throws IOException, APIException {
+    int apiCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    double existingRatio = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+    long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 5;
+    double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+    int concurrency = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+
+    FakeApim apim = new FakeApim(latencyMillis, errorRate, Math.max(16, concurrency * 2));
+    Path workDir = Files.createTempDirectory("api-publisher-benchmark");
+    try {
+      String baseUrl = apim.start();
+      Cell cell = SyntheticCells.createCell(apiCount * DEFINITIONS_PER_API, DEFINITIONS_PER_API);
+      int existingCount = (int) Math.round(apiCount * existingRatio);
+      for (int i = 0; i < existingCount; i++) {
+        apim.addApi(
+            SyntheticCells.CELL_NAME_PROPERTY,
+            SyntheticCells.CELL_NAME + "/" + SyntheticCells.getContext(i),
+            EXISTING_VERSION);
+      }
+      writeConfiguration(workDir, baseUrl, apim, cell, concurrency);
+
+      long startTime = System.nanoTime();
+      UpdateManager.run();
+      long elapsedNanos = System.nanoTime() - startTime;
+      report(apim, apiCount, existingCount, elapsedNanos);
+    } finally {
+      HttpClientProvider.close();
+      apim.stop();
+      deleteDirectory(workDir);
+    }
+  }
+
+  /**
+   * Write the cell and REST configuration files of the publisher and point it to them.
+   *
+   * @param workDir directory to write the files to
+   * @param baseUrl base URL of the fake API Manager
+   * @param apim fake API Manager
+   * @param cell cell configuration
+   * @param concurrency maximum number of APIs handled at the same time
+   * @throws IOException if an error occurred while writing the files
+   */
+  private static void writeConfiguration(
+      Path workDir, String baseUrl, FakeApim apim, Cell cell, int concurrency)
+      throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    Path cellConfigPath = workDir.resolve("api.json");
+    objectMapper.writeValue(cellConfigPath.toFile(), cell);
+
+    ObjectNode restConfig = objectMapper.createObjectNode();
+    restConfig.put(Constants.JsonParamNames.USERNAME, "admin");
+    restConfig.put(Constants.JsonParamNames.PASSWORD, "admin");
+    restConfig.put(Constants.JsonParamNames.API_VERSION, apim.getApiVersion());
+    restConfig
+        .putObject(Constants.JsonParamNames.REGISTER_PAYLOAD)
+        .put("clientName", "cellery_api_publisher")
+        .put("owner", "admin")
+        .put("grantType", "password refresh_token")
+        .put("saasApp", true);
+    restConfig.put(Constants.JsonParamNames.APIM_BASE_URL, baseUrl);
+    restConfig.put(Constants.JsonParamNames.TOKEN_ENDPOINT, baseUrl + apim.getTokenPath());
+    restConfig.put(Constants.JsonParamNames.MAX_CONCURRENT_APIS, concurrency);
+    restConfig.put(
+        Constants.JsonParamNames.TOKEN_CACHE_FILE, workDir.resolve("token.json").toString());
+    Path restConfigPath = workDir.resolve("publisher.json");
+    objectMapper.writeValue(restConfigPath.toFile(), restConfig);
+
+    System.setProperty(
+        Constants.Utils.CELL_CONFIGURATION_FILE_PROPERTY, cellConfigPath.toString());
+    System.setProperty(
+        Constants.Utils.REST_CONFIGURATION_FILE_PROPERTY, restConfigPath.toString());
+  }
+
+  private static void report(FakeApim apim, int apiCount, int existingCount, long elapsedNanos) {
+    double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    System.out.printf(
+        "Published %d APIs (%d new, %d new versions) in %.2f s: %.1f APIs/s%n",
+        apiCount, apiCount - existingCount, existingCount, elapsedSeconds,
+        apiCount / elapsedSeconds);
+    System.out.printf(
+        "%-12s %9s %9s %10s %10s %10s %10s%n",
+        "phase", "requests", "calls", "mean ms", "p50 ms", "p99 ms", "max ms");
+    for (ApimEndpoint endpoint : ApimEndpoint.values()) {
+      LatencyHistogram histogram = LatencyHistograms.get(endpoint);
+      System.out.printf(
+          "%-12s %9d %9d %10.1f %10.1f %10.1f %10.1f%n",
+          endpoint.getConfigKey(),
+          apim.getRequestCount(endpoint),
+          histogram.getCount(),
+          histogram.getMean(),
+          histogram.getP50(),
+          histogram.getP99(),
+          histogram.getMax());
+    }
+  }
+
+  private static void deleteDirectory(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher;
+
+import io.cellery.cell.api.publisher.beans.controller.API;
+import io.cellery.cell.api.publisher.beans.controller.ApiDefinition;
+import io.cellery.cell.api.publisher.beans.controller.ApiDestination;
+import io.cellery.cell.api.publisher.beans.controller.Cell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Generates synthetic cell configurations for the benchmarks. */
+final class SyntheticCells {
+
+  static final String CELL_NAME = "hr";
+  static final String CELL_VERSION = "1.0.0";
+  static final String HOSTNAME = "hr--gateway-service.default";
+  static final String CELL_NAME_PROPERTY = "hr.default";
+  private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+  private SyntheticCells() {}
+
+  /**
+   * Create a cell with the given definitions spread over global APIs.
+   *
+   * @param definitions total number of definitions of the cell
+   * @param definitionsPerApi maximum number of definitions of an API
+   * @return cell configuration
+   */
+  static Cell createCell(int definitions, int definitionsPerApi) {
+    List<API> apis = new ArrayList<>();
+    for (int i = 0; i < definitions; i += definitionsPerApi) {
+      apis.add(createApi(getContext(apis.size()), i, Math.min(definitionsPerApi, definitions - i)));
+    }
+    Cell cell = new Cell();
+    cell.setCell(CELL_NAME);
+    cell.setVersion(CELL_VERSION);
+    cell.setHostname(HOSTNAME);
+    cell.setGlobalContext("");
+    cell.setApis(apis);
+    return cell;
+  }
+
+  /**
+   * Returns the context of the API at the given index of a synthetic cell.
+   *
+   * @param index index of the API
+   * @return API context
+   */
+  static String getContext(int index) {
+    return "employee" + index;
+  }
+
+  /**
+   * Create a global API with definitions on distinct paths, rotating through the HTTP methods.
+   *
+   * @param context API context
+   * @param firstDefinition index of the first definition, used to make paths unique
+   * @param definitionCount number of definitions
+   * @return API
+   */
+  static API createApi(String context, int firstDefinition, int definitionCount) {
+    List<ApiDefinition> apiDefinitions = new ArrayList<>(definitionCount);
+    for (int i = firstDefinition; i < firstDefinition + definitionCount; i++) {
+      ApiDefinition definition = new ApiDefinition();
+      definition.setPath("/resource" + (i / METHODS.length) + "/{id}");
+      definition.setMethod(METHODS[i % METHODS.length]);
+      apiDefinitions.add(definition);
+    }
+    ApiDestination destination = new ApiDestination();
+    destination.setHost("employee-service");
+    destination.setPort("8080");
+
+    API api = new API();
+    api.setContext(context);
+    api.setDefinitions(apiDefinitions);
+    api.setDestination(destination);
+    api.setGlobal(true);
+    api.setAuthenticate(true);
+    api.setVersion("");
+    return api;
+  }
+}
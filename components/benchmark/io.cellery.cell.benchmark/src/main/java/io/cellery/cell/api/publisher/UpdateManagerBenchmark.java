@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.api.publisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.cellery.cell.api.publisher.beans.controller.API;
+import io.cellery.cell.api.publisher.beans.controller.Cell;
+import io.cellery.cell.api.publisher.beans.request.ApiCreateRequest;
+import io.cellery.cell.api.publisher.exceptions.APIException;
+import io.cellery.cell.api.publisher.utils.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the payload generation of the global API publisher over synthetic cells.
+ *
+ * <p>The definitions of a cell are spread over APIs of {@value #DEFINITIONS_PER_API} definitions
+ * each, and every benchmark except {@link #apiDefinitionOfSingleApi} covers all APIs of the cell.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmark.properties")
+@State(Scope.Benchmark)
+public class UpdateManagerBenchmark {
+
+  private static final int DEFINITIONS_PER_API = 10;
+
+  @Param({"10", "1000", "50000"})
+  private int definitions;
+
+  private List<API> apis;
+  private API singleApi;
+  private List<ApiCreateRequest> createRequests;
+
+  @Setup
+  public void setup() throws APIException {
+    Cell cell = SyntheticCells.createCell(definitions, DEFINITIONS_PER_API);
+    apis = cell.getApis();
+    singleApi = SyntheticCells.createApi("employee", 0, definitions);
+    UpdateManager.setCellConfig(cell);
+
+    createRequests = new ArrayList<>(apis.size());
+    for (API api : apis) {
+      createRequests.add(UpdateManager.createGlobalApiPayload(api));
+    }
+  }
+
+  @Benchmark
+  public void apiDefinitions(Blackhole blackhole) throws APIException {
+    for (API api : apis) {
+      blackhole.consume(UpdateManager.getAPIDefinition(api));
+    }
+  }
+
+  @Benchmark
+  public String apiDefinitionOfSingleApi() throws APIException {
+    return UpdateManager.getAPIDefinition(singleApi);
+  }
+
+  @Benchmark
+  public void globalEndpoints(Blackhole blackhole) {
+    for (API api : apis) {
+      blackhole.consume(UpdateManager.getGlobalEndpoint(api));
+    }
+  }
+
+  @Benchmark
+  public void apiNames(Blackhole blackhole) {
+    for (API api : apis) {
+      blackhole.consume(UpdateManager.generateAPIName(api));
+    }
+  }
+
+  @Benchmark
+  public void apiCreatePayloads(Blackhole blackhole) throws APIException {
+    for (API api : apis) {
+      blackhole.consume(UpdateManager.createGlobalApiPayload(api));
+    }
+  }
+
+  @Benchmark
+  public void apiCreateRequestSerialization(Blackhole blackhole) throws JsonProcessingException {
+    for (ApiCreateRequest createRequest : createRequests) {
+      blackhole.consume(JsonCodec.API_CREATE_REQUEST_WRITER.writeValueAsString(createRequest));
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer;
+
+import io.cellery.cell.gateway.initializer.beans.controller.API;
+import io.cellery.cell.gateway.initializer.beans.controller.ApiDefinition;
+import io.cellery.cell.gateway.initializer.beans.controller.Cell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Swagger generation of the gateway initializer over synthetic cells.
+ * <p>
+ * The definitions of a cell are spread over APIs of {@value #DEFINITIONS_PER_API} definitions each, and every
+ * benchmark except {@link #swaggerOfSingleApi} covers all APIs of the cell. Swaggers are rendered in memory so that
+ * the file system is not part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmark.properties")
+@State(Scope.Benchmark)
+public class UpdateManagerBenchmark {
+
+    private static final int DEFINITIONS_PER_API = 10;
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    @Param({"10", "1000", "50000"})
+    private int definitions;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private List<API> apis;
+    private API singleApi;
+
+    @Setup
+    public void setup() {
+        Cell cell = new Cell();
+        cell.setCell("hr");
+        cell.setVersion("1.0.0");
+        cell.setHostname("hr--gateway-service");
+        apis = new ArrayList<>();
+        for (int i = 0; i < definitions; i += DEFINITIONS_PER_API) {
+            apis.add(createApi("employee" + i, i, Math.min(DEFINITIONS_PER_API, definitions - i)));
+        }
+        cell.setApis(apis);
+        singleApi = createApi("employee", 0, definitions);
+        UpdateManager.setCellConfig(cell);
+    }
+
+    @Benchmark
+    public void apiResources(Blackhole blackhole) {
+        for (API api : apis) {
+            blackhole.consume(UpdateManager.createAPIResources(api));
+        }
+    }
+
+    @Benchmark
+    public void swaggers(Blackhole blackhole) throws IOException {
+        for (API api : apis) {
+            blackhole.consume(UpdateManager.renderSwagger(api, compact));
+        }
+    }
+
+    @Benchmark
+    public byte[] swaggerOfSingleApi() throws IOException {
+        return UpdateManager.renderSwagger(singleApi, compact);
+    }
+
+    private static API createApi(String context, int firstDefinition, int definitionCount) {
+        List<ApiDefinition> apiDefinitions = new ArrayList<>(definitionCount);
+        for (int i = firstDefinition; i < firstDefinition + definitionCount; i++) {
+            ApiDefinition definition = new ApiDefinition();
+            definition.setPath("/resource" + (i / METHODS.length) + "/{id}");
+            definition.setMethod(METHODS[i % METHODS.length]);
+            apiDefinitions.add(definition);
+        }
+        API api = new API();
+        api.setContext(context);
+        api.setDefinitions(apiDefinitions);
+        api.setBackend("employee-service");
+        api.setGlobal(true);
+        api.setAuthenticate(true);
+        return api;
+    }
+}
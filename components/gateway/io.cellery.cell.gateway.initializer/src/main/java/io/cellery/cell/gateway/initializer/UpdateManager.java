@@ -19,7 +19,6 @@
 package io.cellery.cell.gateway.initializer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cellery.cell.gateway.initializer.beans.controller.API;
 import io.cellery.cell.gateway.initializer.beans.controller.APIMConfig;
 import io.cellery.cell.gateway.initializer.beans.controller.ApiDefinition;
@@ -32,32 +31,39 @@ import io.cellery.cell.gateway.initializer.beans.request.Parameter;
 import io.cellery.cell.gateway.initializer.beans.request.PathDefinition;
 import io.cellery.cell.gateway.initializer.beans.request.PathsMapping;
 import io.cellery.cell.gateway.initializer.beans.request.ProductionEndpoint;
+import io.cellery.cell.gateway.initializer.beans.response.ApiInfo;
 import io.cellery.cell.gateway.initializer.exceptions.APIException;
+import io.cellery.cell.gateway.initializer.internals.BuildCache;
 import io.cellery.cell.gateway.initializer.internals.ConfigManager;
+import io.cellery.cell.gateway.initializer.utils.ApimEndpoint;
+import io.cellery.cell.gateway.initializer.utils.ApimResponse;
 import io.cellery.cell.gateway.initializer.utils.Constants;
+import io.cellery.cell.gateway.initializer.utils.DirectoryPublisher;
+import io.cellery.cell.gateway.initializer.utils.JsonCodec;
+import io.cellery.cell.gateway.initializer.utils.Metrics;
+import io.cellery.cell.gateway.initializer.utils.ProcessRunner;
 import io.cellery.cell.gateway.initializer.utils.RequestProcessor;
+import io.cellery.cell.gateway.initializer.utils.ZipExtractor;
 import io.swagger.models.Info;
 import io.swagger.models.Operation;
 import io.swagger.models.Path;
 import io.swagger.models.Response;
 import io.swagger.models.Swagger;
 import io.swagger.util.Json;
-import org.apache.commons.io.FileUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -65,8 +71,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class for create APIs in global API Manager.
@@ -76,91 +88,261 @@ public class UpdateManager {
     private static final Logger log = LoggerFactory.getLogger(UpdateManager.class);
     private static Cell cellConfig;
     private static RestConfig restConfig;
-    private static APIMConfig apimConfig;
+    private static volatile APIMConfig apimConfig;
+
+    /**
+     * Set the cell configuration without reading the configuration file. Used by the benchmarks to generate Swaggers
+     * for synthetic cells.
+     *
+     * @param cell cell configuration
+     */
+    static void setCellConfig(Cell cell) {
+        cellConfig = cell;
+    }
 
     public static void main(String[] args) {
+        long startTime = System.nanoTime();
+        boolean success = false;
         try {
             // Encode username password to base64
             restConfig = ConfigManager.getRestConfiguration();
             cellConfig = ConfigManager.getCellConfiguration();
 
-            List apiIds = createGlobalAPIs();
-            publishGlobalAPIs(apiIds);
-            generateApiConfigJson();
-            log.info("Global API creation is completed successfully..");
-            // Run microgateway setup command.
-            microgatewaySetup();
-            log.info("Microgateway setup success");
-            microgatewayBuild();
-            log.info("Microgateway build success");
-            unzipTargetFile();
-            moveUnzippedFolderToMountLocation();
+            // The global API Manager calls and the local micro-gw build do not depend on each other, so they run
+            // at the same time. The built gateway is only published to the mount location once both succeed.
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+                Thread thread = new Thread(runnable, Constants.Utils.TASK_THREAD_NAME_PREFIX +
+                        threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            java.nio.file.Path stagingFolder;
+            try {
+                CompletableFuture<Void> apimTask = CompletableFuture.runAsync(() -> {
+                    long apimStartTime = System.nanoTime();
+                    try {
+                        createAndPublishGlobalAPIs();
+                    } catch (APIException e) {
+                        throw new CompletionException(e);
+                    } finally {
+                        Metrics.recordPhase("apim", apimStartTime);
+                    }
+                    log.info("Global API creation is completed successfully..");
+                }, executor);
+                CompletableFuture<java.nio.file.Path> gatewayTask = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return buildMicrogateway();
+                    } catch (IOException | InterruptedException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+                stagingFolder = join(apimTask, gatewayTask);
+            } finally {
+                executor.shutdownNow();
+            }
+            long publishStartTime = System.nanoTime();
+            DirectoryPublisher.publish(stagingFolder, Paths.get(Constants.Utils.MOUNT_FILE_PATH));
+            Metrics.recordPhase("publish", publishStartTime);
             log.info("Init container configuration is completed successfully..");
+            success = true;
         } catch (APIException e) {
             log.error("Error occurred while creating APIs in Global API manager. " + e.getMessage(), e);
-            System.exit(Constants.Utils.ERROR_EXIT_CODE);
         } catch (IOException e) {
             log.error("Error occurred while configuring the microgateway.", e);
-            System.exit(Constants.Utils.ERROR_EXIT_CODE);
         } catch (InterruptedException e) {
             log.error("Error occurred while waiting for the process completion", e);
+        } finally {
+            Metrics.recordPhase("total", startTime);
+            reportMetrics(success);
+        }
+        if (!success) {
             System.exit(Constants.Utils.ERROR_EXIT_CODE);
         }
     }
 
     /**
-     * Create Global APIs.
+     * Report the metrics of the run.
      *
-     * @return created API Ids.
-     * @throws APIException throw API Exception if an error occurred while creating APIs.
+     * @param success whether the run succeeded
      */
-    private static List createGlobalAPIs() throws APIException {
-        if (log.isDebugEnabled()) {
-            log.debug("Creating APIs in Global API Manager...");
+    private static void reportMetrics(boolean success) {
+        String cell = cellConfig != null ? cellConfig.getCell() : Constants.Utils.EMPTY_STRING;
+        String metricsFile = restConfig != null ? restConfig.getMetricsFile() : null;
+        Metrics.report(cell, success, metricsFile);
+    }
+
+    /**
+     * Wait for the API Manager task and the micro-gw task to complete, failing as soon as either of them fails.
+     *
+     * @param apimTask    task creating and publishing the global APIs
+     * @param gatewayTask task building the micro-gw
+     * @return staging folder holding the built micro-gw
+     * @throws APIException         if the API Manager task failed
+     * @throws IOException          if the micro-gw task failed
+     * @throws InterruptedException if interrupted while waiting for the tasks
+     */
+    private static java.nio.file.Path join(CompletableFuture<Void> apimTask,
+                                           CompletableFuture<java.nio.file.Path> gatewayTask)
+            throws APIException, IOException, InterruptedException {
+        CompletableFuture<Void> allTasks = CompletableFuture.allOf(apimTask, gatewayTask);
+        apimTask.whenComplete((result, e) -> failWith(allTasks, e));
+        gatewayTask.whenComplete((result, e) -> failWith(allTasks, e));
+        try {
+            allTasks.get();
+            return gatewayTask.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof APIException) {
+                throw (APIException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            throw new APIException("Error occurred while initializing the gateway", cause);
         }
+    }
 
-        JSONArray apiPayloads = createGlobalApiPayloads();
-        List<String> apiIDs = new ArrayList<>();
-        for (int i = 0; i < apiPayloads.length(); i++) {
-            RequestProcessor requestProcessor = new RequestProcessor();
-            ObjectMapper objectMapper = new ObjectMapper();
-            String apiCreateResponse;
-            String createAPIPath;
-            try {
-                apimConfig = ConfigManager.getAPIMConfiguration();
-                createAPIPath = restConfig.getApimBaseUrl() + Constants.Utils.PATH_PUBLISHER
-                        + restConfig.getApiVersion() + Constants.Utils.PATH_APIS;
-                apiCreateResponse = requestProcessor
-                        .doPost(createAPIPath, Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-                                Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-                                Constants.Utils.BEARER + apimConfig.getApiToken(),
-                                objectMapper.writeValueAsString(apiPayloads.get(i)));
-            } catch (JsonProcessingException e) {
-                throw new APIException("Error while serializing the payload: " + apiPayloads.get(i));
+    private static void failWith(CompletableFuture<Void> allTasks, Throwable e) {
+        if (e != null) {
+            allTasks.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Generate the micro-gw API config and swaggers, build the micro-gw or take the build from the build cache and
+     * extract it into a staging folder of the mount location.
+     *
+     * @return staging folder holding the built micro-gw
+     * @throws IOException          if an error occurred while building or extracting the micro-gw
+     * @throws InterruptedException if interrupted while waiting for micro-gw
+     */
+    private static java.nio.file.Path buildMicrogateway() throws IOException, InterruptedException {
+        long apiConfigStartTime = System.nanoTime();
+        generateApiConfigJson();
+        Metrics.recordPhase("api_config", apiConfigStartTime);
+        BuildCache buildCache = BuildCache.create(restConfig.getMicroGateway().getBuildCacheDir(),
+                Constants.Utils.MICROGATEWAY_PATH, cellConfig.getCell(), Constants.Utils.API_CONFIG_PATH,
+                Constants.Utils.SWAGGER_FOLDER);
+        java.nio.file.Path targetZip = buildCache != null ? buildCache.getCachedArchive() : null;
+        if (targetZip == null) {
+            // Run microgateway setup command.
+            long setupStartTime = System.nanoTime();
+            microgatewaySetup();
+            Metrics.recordPhase("setup", setupStartTime);
+            log.info("Microgateway setup success");
+            long buildStartTime = System.nanoTime();
+            microgatewayBuild();
+            Metrics.recordPhase("build", buildStartTime);
+            log.info("Microgateway build success");
+            targetZip = getTargetZipPath();
+            if (buildCache != null) {
+                buildCache.store(targetZip);
             }
+        }
+        long extractStartTime = System.nanoTime();
+        java.nio.file.Path stagingFolder = extractTargetFile(targetZip);
+        Metrics.recordPhase("extract", extractStartTime);
+        return stagingFolder;
+    }
 
-            if (apiCreateResponse != null) {
-                if (!(apiCreateResponse.contains(Constants.Utils.DUPLICATE_API_ERROR) ||
-                        apiCreateResponse.contains(Constants.Utils.DIFFERENT_CONTEXT_ERROR) ||
-                        apiCreateResponse.contains(Constants.Utils.DUPLICATE_CONTEXT_ERROR))) {
-                    JSONObject jsonObj = new JSONObject(apiCreateResponse);
-                    apiIDs.add(jsonObj.getString(Constants.Utils.ID));
-                }
-            } else {
-                throw new APIException("Error while creating the global API from: " + createAPIPath);
+    /**
+     * Create Global APIs and publish each of them as soon as it is created. Up to the configured number of APIs are
+     * created and published at the same time.
+     *
+     * @throws APIException throw API Exception if an error occurred while creating or publishing APIs.
+     */
+    private static void createAndPublishGlobalAPIs() throws APIException {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating and publishing APIs in Global API Manager...");
+        }
+
+        List<ApiCreateRequest> apiPayloads = createGlobalApiPayloads();
+        if (apiPayloads.isEmpty()) {
+            return;
+        }
+        apimConfig = ConfigManager.getAPIMConfiguration();
+        int concurrency = Math.max(1, Math.min(restConfig.getMaxConcurrentApis(), apiPayloads.size()));
+        if (log.isDebugEnabled()) {
+            log.debug("Creating " + apiPayloads.size() + " APIs with concurrency " + concurrency);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, Constants.Utils.WORKER_THREAD_NAME_PREFIX +
+                    threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (ApiCreateRequest apiPayload : apiPayloads) {
+                completionService.submit(() -> {
+                    String id = createGlobalAPI(apiPayload);
+                    if (id != null) {
+                        publishGlobalAPI(id);
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < apiPayloads.size(); i++) {
+                // Fail fast on the first API which could not be created or published.
+                completionService.take().get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while creating APIs in Global API Manager", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIException) {
+                throw (APIException) e.getCause();
+            }
+            throw new APIException("Error occurred while creating APIs in Global API Manager", e);
+        } finally {
+            executor.shutdownNow();
         }
-        return apiIDs;
+    }
+
+    /**
+     * Create a Global API.
+     *
+     * @param apiPayload API creation payload
+     * @return created API Id, or null if the API already exists.
+     * @throws APIException throw API Exception if an error occurred while creating the API.
+     */
+    private static String createGlobalAPI(ApiCreateRequest apiPayload) throws APIException {
+        RequestProcessor requestProcessor = new RequestProcessor();
+        ApimResponse<ApiInfo> apiCreateResponse;
+        String createAPIPath;
+        try {
+            createAPIPath = restConfig.getApimBaseUrl() + Constants.Utils.PATH_PUBLISHER
+                    + restConfig.getApiVersion() + Constants.Utils.PATH_APIS;
+            apiCreateResponse = requestProcessor
+                    .doPost(ApimEndpoint.CREATE, createAPIPath, Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
+                            Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
+                            Constants.Utils.BEARER + apimConfig.getApiToken(),
+                            JsonCodec.API_CREATE_REQUEST_WRITER.writeValueAsString(apiPayload), ApiInfo.class);
+        } catch (JsonProcessingException e) {
+            throw new APIException("Error while serializing the payload: " + apiPayload);
+        }
+
+        if (apiCreateResponse.isSuccess() && apiCreateResponse.getBody() != null) {
+            return apiCreateResponse.getBody().getId();
+        } else if (apiCreateResponse.isDuplicateApi() || apiCreateResponse.isDuplicateContext()) {
+            // skip the error when trying to add the same api or the same api with different context.
+            return null;
+        }
+        throw new APIException("Error while creating the global API from: " + createAPIPath + ", " +
+                apiCreateResponse.getErrorMessage());
     }
 
     /**
      * Create Global API Payloads
      *
-     * @return JSONArray that contains global API Payloads
+     * @return Global API Payloads
      * @throws APIException throw API Exception if an error occurred while creating APIs.
      */
-    private static JSONArray createGlobalApiPayloads() throws APIException {
-        JSONArray apiPayloadsArray = new JSONArray();
+    private static List<ApiCreateRequest> createGlobalApiPayloads() throws APIException {
+        List<ApiCreateRequest> apiPayloads = new ArrayList<>();
         List<API> apis = cellConfig.getApis();
 
         for (API api : apis) {
@@ -180,36 +362,30 @@ public class UpdateManager {
                 additionalProperties.put(Constants.Utils.CELL_NAME_PROPERTY, cellConfig.getCell());
                 globalApiCreateRequest.setAdditionalProperties(additionalProperties);
 
-                apiPayloadsArray.put(globalApiCreateRequest);
+                apiPayloads.add(globalApiCreateRequest);
             }
         }
-        return apiPayloadsArray;
+        return apiPayloads;
     }
 
     /**
-     * Publish APIs in created state.
+     * Publish an API in created state.
      *
-     * @param ids API Id list
-     * @throws APIException Throw API Exception if an error occurred while publishing APIs.
+     * @param id API Id
+     * @throws APIException Throw API Exception if an error occurred while publishing the API.
      */
-    private static void publishGlobalAPIs(List ids) throws APIException {
-        if (log.isDebugEnabled()) {
-            log.debug("Publishing created APIs in Global API Manager...");
-        }
-
-        for (Object id : ids) {
-            RequestProcessor requestProcessor = new RequestProcessor();
-            String apiPublishResponse;
-            String apiPublishPath = restConfig.getApimBaseUrl() + Constants.Utils.PATH_PUBLISHER
-                    + restConfig.getApiVersion() + Constants.Utils.PATH_LIFECYCLE + "apiId=" + id + "&action=Publish";
-            apiPublishResponse = requestProcessor.doPost(apiPublishPath, Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
-                    Constants.Utils.CONTENT_TYPE_APPLICATION_JSON, Constants.Utils.BEARER + apimConfig.getApiToken(),
-                    Constants.Utils.EMPTY_STRING);
-
-            if (apiPublishResponse == null) {
-                throw new APIException(
-                        "Error while publishing the global API with URL: " + apiPublishPath);
-            }
+    private static void publishGlobalAPI(String id) throws APIException {
+        RequestProcessor requestProcessor = new RequestProcessor();
+        ApimResponse<Void> apiPublishResponse;
+        String apiPublishPath = restConfig.getApimBaseUrl() + Constants.Utils.PATH_PUBLISHER
+                + restConfig.getApiVersion() + Constants.Utils.PATH_LIFECYCLE + "apiId=" + id + "&action=Publish";
+        apiPublishResponse = requestProcessor.doPost(ApimEndpoint.LIFECYCLE, apiPublishPath,
+                Constants.Utils.CONTENT_TYPE_APPLICATION_JSON, Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
+                Constants.Utils.BEARER + apimConfig.getApiToken(), Constants.Utils.EMPTY_STRING, Void.class);
+
+        if (!apiPublishResponse.isSuccess()) {
+            throw new APIException("Error while publishing the global API with URL: " + apiPublishPath + ", " +
+                    apiPublishResponse.getErrorMessage());
         }
     }
 
@@ -226,9 +402,8 @@ public class UpdateManager {
         Endpoint endpoint = new Endpoint();
         endpoint.setProductionEndPoint(productionEndpoint);
 
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            response = objectMapper.writeValueAsString(endpoint);
+            response = JsonCodec.ENDPOINT_WRITER.writeValueAsString(endpoint);
         } catch (JsonProcessingException e) {
             log.error("Error occurred while serializing json to string", e);
         }
@@ -286,11 +461,10 @@ public class UpdateManager {
             }
             apiDefinition.addPathDefinition(allowQueryPath, pathDefinition);
         }
-        ObjectMapper objectMapper = new ObjectMapper();
         String apiDefinitionStr = Constants.Utils.EMPTY_STRING;
 
         try {
-            apiDefinitionStr = objectMapper.writeValueAsString(apiDefinition);
+            apiDefinitionStr = JsonCodec.PATHS_MAPPING_WRITER.writeValueAsString(apiDefinition);
         } catch (JsonProcessingException e) {
             log.error("Error occurred while serializing json to string", e);
         }
@@ -301,203 +475,172 @@ public class UpdateManager {
      * Run microgateway setup command to create build artifacts.
      */
     private static void microgatewaySetup() throws IOException, InterruptedException {
-        ProcessBuilder processBuilder =
-                new ProcessBuilder(Constants.Utils.MICROGATEWAY_PATH, "setup", cellConfig.getCell(),
-                        "-ms", Constants.Utils.API_CONFIG_PATH);
-
-        Process process = processBuilder.start();
-        String line;
-        try (InputStreamReader inputStreamReader = new InputStreamReader(process.getInputStream(),
-                StandardCharsets.UTF_8)) {
-            try (BufferedReader inputReader = new BufferedReader(inputStreamReader)) {
-                while ((line = inputReader.readLine()) != null) {
-                    log.info(line);
-                }
-            }
-        }
-        try (InputStreamReader inputStreamReader = new InputStreamReader(process.getErrorStream(),
-                StandardCharsets.UTF_8)) {
-            try (BufferedReader errorReader = new BufferedReader(inputStreamReader)) {
-                while ((line = errorReader.readLine()) != null) {
-                    log.error(line);
-                }
-            }
-        }
-        process.waitFor();
+        ProcessRunner.run("micro-gw setup", restConfig.getMicroGateway().getSetupTimeout(),
+                Constants.Utils.MICROGATEWAY_PATH, "setup", cellConfig.getCell(),
+                "-ms", Constants.Utils.API_CONFIG_PATH);
     }
 
     /**
      * Run microgateway build command.
      */
     private static void microgatewayBuild() throws IOException, InterruptedException {
-        ProcessBuilder processBuilder =
-                new ProcessBuilder(Constants.Utils.MICROGATEWAY_PATH, "build", cellConfig.getCell());
-        Process process = processBuilder.start();
-        String line;
-        try (InputStreamReader inputStreamReader = new InputStreamReader(process.getInputStream(),
-                StandardCharsets.UTF_8)) {
-            try (BufferedReader inputReader = new BufferedReader(inputStreamReader)) {
-                while ((line = inputReader.readLine()) != null) {
-                    log.info(line);
-                }
-            }
-        }
-        try (InputStreamReader inputStreamReader = new InputStreamReader(process.getErrorStream(),
-                StandardCharsets.UTF_8)) {
-            try (BufferedReader errorReader = new BufferedReader(inputStreamReader)) {
-                while ((line = errorReader.readLine()) != null) {
-                    log.error(line);
-                }
-            }
-        }
-        process.waitFor();
+        ProcessRunner.run("micro-gw build", restConfig.getMicroGateway().getBuildTimeout(),
+                Constants.Utils.MICROGATEWAY_PATH, "build", cellConfig.getCell());
     }
 
     /**
-     * Unzip microgateway target file.
+     * Returns the path of the microgateway target file created by the build.
+     *
+     * @return path of the target file
      */
-    private static void unzipTargetFile() throws IOException {
+    private static java.nio.file.Path getTargetZipPath() {
         String targetZipName = "micro-gw-" + cellConfig.getCell() + ".zip";
-        String targetZipFilePath = Constants.Utils.HOME_PATH + cellConfig.getCell() + "/target/" + targetZipName;
-
-        // Create output directory if not exists
-        File targetFolder = new File(Constants.Utils.UNZIP_FILE_PATH);
-        if (!targetFolder.exists()) {
-            if (!targetFolder.mkdir()) {
-                log.warn("Failed to create folder: " + targetFolder);
-            }
-        }
-
-        byte[] buffer = new byte[1024];
-        try (FileInputStream inputStream = new FileInputStream(targetZipFilePath)) {
-            try (ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
-                ZipEntry zipEntry = zipInputStream.getNextEntry();
-                while (zipEntry != null) {
-                    String fileName = zipEntry.getName();
-                    File newFile = new File(targetFolder + "/" + fileName);
-
-                    if (!newFile.getParentFile().exists()) {
-                        if (!newFile.getParentFile().mkdirs()) {
-                            log.warn("Failed to create parent folders to create file: " + newFile);
-                        }
-                    }
-                    try (FileOutputStream fileOutputStream = new FileOutputStream(newFile)) {
-                        int len;
-                        while ((len = zipInputStream.read(buffer)) > 0) {
-                            fileOutputStream.write(buffer, 0, len);
-                        }
-                    }
-                    zipEntry = zipInputStream.getNextEntry();
-                }
-            }
-        }
-
-        log.info("Unzipping microgateway target file is completed successfully..");
+        return Paths.get(Constants.Utils.HOME_PATH + cellConfig.getCell() + "/target/" + targetZipName);
     }
 
     /**
-     * Move unzipped folder to mount location.
+     * Extract microgateway target file into a staging folder of the mount location, from where it is published into
+     * the mount location. Only the entries under the {@code micro-gw-<cell>} folder of the archive are extracted,
+     * with that folder prefix removed.
+     *
+     * @param targetZipFilePath path of the target file
+     * @return staging folder
      */
-    private static void moveUnzippedFolderToMountLocation() throws IOException {
-        String targetFolderName = "micro-gw-" + cellConfig.getCell();
-        File sourceFolder = new File(Constants.Utils.UNZIP_FILE_PATH + "/" + targetFolderName);
-        File destinationFolder = new File(Constants.Utils.MOUNT_FILE_PATH);
-        FileUtils.copyDirectory(sourceFolder, destinationFolder);
-
-        File file = new File(Constants.Utils.MOUNT_FILE_PATH + "/bin/gateway");
-        file.setExecutable(true, false);
+    private static java.nio.file.Path extractTargetFile(java.nio.file.Path targetZipFilePath) throws IOException {
+        int parallelism = restConfig.getMicroGateway().getExtractionParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        java.nio.file.Path mountFolder = Paths.get(Constants.Utils.MOUNT_FILE_PATH);
+        java.nio.file.Path stagingFolder = DirectoryPublisher.createStagingFolder(mountFolder);
+        ZipExtractor.extract(targetZipFilePath, "micro-gw-" + cellConfig.getCell() + "/", stagingFolder,
+                parallelism);
 
-        log.info("Moved the unzipped folder to mount location successfully..");
+        log.info("Extracted microgateway target file to the staging folder successfully..");
+        return stagingFolder;
     }
 
     /**
-     * Writes API details in to API Config File
+     * Creates the API Config entry of an API
      *
-     * @param api API being written
+     * @param api API sent by controller
+     * @return API Config entry
      */
-    private static void writeToMicroGWConfig(API api) {
-        JSONArray apiConfigArray = getApiConfig();
+    private static JSONObject createApiConfig(API api) {
         JSONObject apiConfig = new JSONObject();
         apiConfig.put("swaggerPath", Constants.Utils.SWAGGER_FOLDER + removeSpecialChars(api.getBackend()
                 + api.getContext()) + ".json");
         apiConfig.put("endpoint", api.getBackend());
         apiConfig.put("defaultAPI", true);
-        apiConfigArray.put(apiConfig);
-        writeToAFile(Constants.Utils.API_CONFIG_PATH, apiConfigArray.toString());
+        return apiConfig;
     }
 
     /**
-     * Gets API Config file from the disk
+     * Writes to a File through a file channel, replacing any existing content
      *
-     * @return Apiconfig JSONArray
+     * @param path    path of the file
+     * @param content Content that should be written
+     * @throws IOException if an error occurred while writing the file
      */
-    private static JSONArray getApiConfig() {
-        JSONArray apiConfigArray = null;
-        try {
-            String jsonContent = new String(Files.readAllBytes(Paths.get(Constants.Utils.API_CONFIG_PATH)),
-                    StandardCharsets.UTF_8);
-            apiConfigArray = new JSONArray(jsonContent);
-        } catch (NoSuchFileException e) {
-            createEmptyJSONArray();
-            apiConfigArray = getApiConfig();
-        } catch (IOException e) {
-            log.error("Failed to read API config", e);
+    private static void writeToAFile(java.nio.file.Path path, byte[] content) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
         }
-        return apiConfigArray;
     }
 
     /**
-     * Writes to a File
+     * Writes to a File through a temporary file in the same folder which is then renamed over the destination, so
+     * that readers never see a partially written file
      *
      * @param path    path of the file
      * @param content Content that should be written
+     * @throws IOException if an error occurred while writing the file
      */
-    private static void writeToAFile(String path, String content) {
-        try {
-            java.nio.file.Path pathToFile = Paths.get(path);
+    private static void writeToAFileAtomically(String path, String content) throws IOException {
+        java.nio.file.Path pathToFile = Paths.get(path).toAbsolutePath();
+        java.nio.file.Path parent = pathToFile.getParent();
+        Files.createDirectories(parent);
 
-            java.nio.file.Path parent = pathToFile.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
+        java.nio.file.Path tempFile = Files.createTempFile(parent, pathToFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, pathToFile, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, pathToFile, StandardCopyOption.REPLACE_EXISTING);
             }
-
-            Files.write(pathToFile, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE);
-        } catch (IOException e) {
-            log.error("Failed to write to file " + path, e);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
     }
 
     /**
-     * Creates an empty JSON Array and writes to the API Config File
+     * Generates API Config that is required by Micro-GW. The config of all APIs is built in memory and written once.
+     *
+     * @throws IOException if an error occurred while writing the API Config File
      */
-    private static void createEmptyJSONArray() {
-        JSONArray emptyArr = new JSONArray();
-        writeToAFile(Constants.Utils.API_CONFIG_PATH, emptyArr.toString());
+    private static void generateApiConfigJson() throws IOException {
+        List<API> apis = cellConfig.getApis();
+        generateSwaggers(apis);
+        JSONArray apiConfigArray = new JSONArray();
+        for (API api : apis) {
+            apiConfigArray.put(createApiConfig(api));
+        }
+        writeToAFileAtomically(Constants.Utils.API_CONFIG_PATH, apiConfigArray.toString());
     }
 
     /**
-     * Generates API Config that is required by Micro-GW
+     * Creates and writes the Swagger files of the APIs in parallel
+     *
+     * @param apis APIs sent by controller
+     * @throws IOException if an error occurred while writing a Swagger file
      */
-    private static void generateApiConfigJson() {
-        List<API> apis = cellConfig.getApis();
-        for (API api : apis) {
-            createSwagger(api);
-            writeToMicroGWConfig(api);
+    private static void generateSwaggers(List<API> apis) throws IOException {
+        Files.createDirectories(Paths.get(Constants.Utils.SWAGGER_FOLDER));
+        boolean compact = restConfig.getMicroGateway().isCompactSwagger();
+        try {
+            apis.parallelStream().forEach(api -> {
+                try {
+                    createSwagger(api, compact);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
      * Creates Swagger file for the API given by controller
      *
-     * @param api API sent by controller
+     * @param api     API sent by controller
+     * @param compact whether to write the Swagger without indentation
+     * @throws IOException if an error occurred while writing the Swagger file
+     */
+    private static void createSwagger(API api, boolean compact) throws IOException {
+        writeSwagger(renderSwagger(api, compact), removeSpecialChars(api.getBackend() + api.getContext()));
+    }
+
+    /**
+     * Creates the Swagger of the API given by controller and serializes it
+     *
+     * @param api     API sent by controller
+     * @param compact whether to serialize the Swagger without indentation
+     * @return Swagger content
+     * @throws IOException if an error occurred while serializing the Swagger
      */
-    private static void createSwagger(API api) {
+    static byte[] renderSwagger(API api, boolean compact) throws IOException {
         Swagger swagger = new Swagger();
         swagger.setInfo(createSwaggerInfo(api));
         swagger.basePath("/" + api.getContext());
         swagger.setPaths(createAPIResources(api));
-        String swaggerString = Json.pretty(swagger);
-        writeSwagger(swaggerString, removeSpecialChars(api.getBackend() + api.getContext()));
+        return compact ? Json.mapper().writeValueAsBytes(swagger) : Json.pretty().writeValueAsBytes(swagger);
     }
 
     /**
@@ -519,7 +662,7 @@ public class UpdateManager {
      * @param api API sent by controller
      * @return Swagger Path Map
      */
-    private static Map<String, Path> createAPIResources(API api) {
+    static Map<String, Path> createAPIResources(API api) {
         Map<String, Path> pathMap = new HashMap<>();
         for (ApiDefinition definition : api.getDefinitions()) {
             Path path = pathMap.computeIfAbsent(definition.getPath(), (key) -> new Path());
@@ -576,14 +719,14 @@ public class UpdateManager {
     }
 
     /**
-     * Writes Swagger String to a File
+     * Writes Swagger content to a File
      *
-     * @param swagger Swagger String
+     * @param swagger Swagger content
      * @param name    Path of the destination file
+     * @throws IOException if an error occurred while writing the file
      */
-    private static void writeSwagger(String swagger, String name) {
-        String path = Constants.Utils.SWAGGER_FOLDER + name + ".json";
-        writeToAFile(path, swagger);
+    private static void writeSwagger(byte[] swagger, String name) throws IOException {
+        writeToAFile(Paths.get(Constants.Utils.SWAGGER_FOLDER + name + ".json"), swagger);
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.gateway.initializer.utils.Constants;
+
+/**
+ * Circuit breaker configuration of the calls made to the global API Manager.
+ */
+public class CircuitBreakerConfig {
+
+    @JsonProperty(Constants.JsonParamNames.WINDOW_SIZE)
+    private int windowSize = Constants.Utils.DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+
+    @JsonProperty(Constants.JsonParamNames.MINIMUM_CALLS)
+    private int minimumCalls = Constants.Utils.DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+
+    @JsonProperty(Constants.JsonParamNames.FAILURE_RATE_THRESHOLD)
+    private int failureRateThreshold = Constants.Utils.DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+
+    @JsonProperty(Constants.JsonParamNames.OPEN_DURATION)
+    private long openDuration = Constants.Utils.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.HALF_OPEN_PROBES)
+    private int halfOpenProbes = Constants.Utils.DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES;
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+}
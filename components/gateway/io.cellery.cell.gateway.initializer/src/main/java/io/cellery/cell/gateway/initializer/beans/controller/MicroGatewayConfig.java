@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.gateway.initializer.utils.Constants;
+
+/**
+ * Configuration of the micro-gw setup and build run by the gateway initializer.
+ */
+public class MicroGatewayConfig {
+
+    @JsonProperty(Constants.JsonParamNames.SETUP_TIMEOUT)
+    private long setupTimeout = Constants.Utils.DEFAULT_MICROGATEWAY_SETUP_TIMEOUT_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.BUILD_TIMEOUT)
+    private long buildTimeout = Constants.Utils.DEFAULT_MICROGATEWAY_BUILD_TIMEOUT_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.BUILD_CACHE_DIR)
+    private String buildCacheDir = Constants.Utils.BUILD_CACHE_PATH;
+
+    @JsonProperty(Constants.JsonParamNames.EXTRACTION_PARALLELISM)
+    private int extractionParallelism = Constants.Utils.DEFAULT_EXTRACTION_PARALLELISM;
+
+    @JsonProperty(Constants.JsonParamNames.COMPACT_SWAGGER)
+    private boolean compactSwagger = false;
+
+    public long getSetupTimeout() {
+        return setupTimeout;
+    }
+
+    public void setSetupTimeout(long setupTimeout) {
+        this.setupTimeout = setupTimeout;
+    }
+
+    public long getBuildTimeout() {
+        return buildTimeout;
+    }
+
+    public void setBuildTimeout(long buildTimeout) {
+        this.buildTimeout = buildTimeout;
+    }
+
+    public String getBuildCacheDir() {
+        return buildCacheDir;
+    }
+
+    public void setBuildCacheDir(String buildCacheDir) {
+        this.buildCacheDir = buildCacheDir;
+    }
+
+    public int getExtractionParallelism() {
+        return extractionParallelism;
+    }
+
+    public void setExtractionParallelism(int extractionParallelism) {
+        this.extractionParallelism = extractionParallelism;
+    }
+
+    public boolean isCompactSwagger() {
+        return compactSwagger;
+    }
+
+    public void setCompactSwagger(boolean compactSwagger) {
+        this.compactSwagger = compactSwagger;
+    }
+}
@@ -48,6 +48,24 @@ public class RestConfig {
     @JsonProperty(Constants.JsonParamNames.TRUST_STORE)
     private JSONObject trustStore;
 
+    @JsonProperty(Constants.JsonParamNames.RETRY)
+    private RetryConfig retry = new RetryConfig();
+
+    @JsonProperty(Constants.JsonParamNames.CIRCUIT_BREAKER)
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    @JsonProperty(Constants.JsonParamNames.TIMEOUTS)
+    private TimeoutConfig timeouts = new TimeoutConfig();
+
+    @JsonProperty(Constants.JsonParamNames.MICROGATEWAY)
+    private MicroGatewayConfig microGateway = new MicroGatewayConfig();
+
+    @JsonProperty(Constants.JsonParamNames.MAX_CONCURRENT_APIS)
+    private int maxConcurrentApis = Constants.Utils.DEFAULT_MAX_CONCURRENT_APIS;
+
+    @JsonProperty(Constants.JsonParamNames.METRICS_FILE)
+    private String metricsFile;
+
     public String getUsername() {
         return username;
     }
@@ -103,4 +121,52 @@ public class RestConfig {
     public void setTrustStore(JSONObject trustStore) {
         this.trustStore = trustStore;
     }
+
+    public RetryConfig getRetry() {
+        return retry;
+    }
+
+    public void setRetry(RetryConfig retry) {
+        this.retry = retry;
+    }
+
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public TimeoutConfig getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(TimeoutConfig timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public MicroGatewayConfig getMicroGateway() {
+        return microGateway;
+    }
+
+    public void setMicroGateway(MicroGatewayConfig microGateway) {
+        this.microGateway = microGateway;
+    }
+
+    public int getMaxConcurrentApis() {
+        return maxConcurrentApis;
+    }
+
+    public void setMaxConcurrentApis(int maxConcurrentApis) {
+        this.maxConcurrentApis = maxConcurrentApis;
+    }
+
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    public void setMetricsFile(String metricsFile) {
+        this.metricsFile = metricsFile;
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.gateway.initializer.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retry configuration of the calls made to the global API Manager.
+ */
+public class RetryConfig {
+
+    @JsonProperty(Constants.JsonParamNames.MAX_ATTEMPTS)
+    private int maxAttempts = Constants.Utils.DEFAULT_RETRY_MAX_ATTEMPTS;
+
+    @JsonProperty(Constants.JsonParamNames.BASE_DELAY)
+    private long baseDelay = Constants.Utils.DEFAULT_RETRY_BASE_DELAY_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.MAX_DELAY)
+    private long maxDelay = Constants.Utils.DEFAULT_RETRY_MAX_DELAY_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.JITTER)
+    private double jitter = Constants.Utils.DEFAULT_RETRY_JITTER;
+
+    @JsonProperty(Constants.JsonParamNames.RETRYABLE_STATUS_CODES)
+    private List<Integer> retryableStatusCodes = new ArrayList<>(Constants.Utils.DEFAULT_RETRYABLE_STATUS_CODES);
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getBaseDelay() {
+        return baseDelay;
+    }
+
+    public void setBaseDelay(long baseDelay) {
+        this.baseDelay = baseDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public List<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public void setRetryableStatusCodes(List<Integer> retryableStatusCodes) {
+        this.retryableStatusCodes = retryableStatusCodes;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.beans.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.cellery.cell.gateway.initializer.utils.Constants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Timeouts in milliseconds of the calls made to the global API Manager. Values of an endpoint class which are not
+ * set fall back to the defaults given here.
+ */
+public class TimeoutConfig {
+
+    @JsonProperty(Constants.JsonParamNames.CONNECT_TIMEOUT)
+    private int connectTimeout = Constants.Utils.DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.SOCKET_TIMEOUT)
+    private int socketTimeout = Constants.Utils.DEFAULT_SOCKET_TIMEOUT_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.CONNECTION_REQUEST_TIMEOUT)
+    private int connectionRequestTimeout = Constants.Utils.DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS;
+
+    @JsonProperty(Constants.JsonParamNames.ENDPOINTS)
+    private Map<String, EndpointTimeoutConfig> endpoints = new HashMap<>();
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Map<String, EndpointTimeoutConfig> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, EndpointTimeoutConfig> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.internals;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content addressed cache of the micro-gw build output. The key is a hash of everything the build depends on, so a
+ * cell whose API set did not change since the last build reuses the built archive instead of running micro-gw again.
+ */
+public class BuildCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildCache.class);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Path cacheDir;
+    private final String key;
+
+    private BuildCache(Path cacheDir, String key) {
+        this.cacheDir = cacheDir;
+        this.key = key;
+    }
+
+    /**
+     * Creates the build cache of the current build inputs.
+     *
+     * @param cacheDir       folder holding the cached archives
+     * @param microgwPath    path of the micro-gw executable, which carries its version
+     * @param cell           name of the cell
+     * @param apiConfigPath  path of the generated API Config file
+     * @param swaggerFolder  folder of the generated swagger files
+     * @return build cache, or null if the cache folder does not exist
+     * @throws IOException if an error occurred while reading the build inputs
+     */
+    public static BuildCache create(String cacheDir, String microgwPath, String cell, String apiConfigPath,
+                                    String swaggerFolder) throws IOException {
+        if (cacheDir == null || cacheDir.isEmpty() || !Files.isDirectory(Paths.get(cacheDir))) {
+            if (log.isDebugEnabled()) {
+                log.debug("Build cache folder " + cacheDir + " does not exist, micro-gw build output is not cached");
+            }
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        update(digest, microgwPath.getBytes(StandardCharsets.UTF_8));
+        update(digest, cell.getBytes(StandardCharsets.UTF_8));
+        update(digest, Files.readAllBytes(Paths.get(apiConfigPath)));
+
+        List<Path> swaggers = new ArrayList<>();
+        Path swaggerDir = Paths.get(swaggerFolder);
+        if (Files.isDirectory(swaggerDir)) {
+            try (Stream<Path> files = Files.list(swaggerDir)) {
+                swaggers.addAll(files.filter(Files::isRegularFile).collect(Collectors.toList()));
+            }
+        }
+        Collections.sort(swaggers);
+        for (Path swagger : swaggers) {
+            update(digest, swagger.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            update(digest, Files.readAllBytes(swagger));
+        }
+        return new BuildCache(Paths.get(cacheDir), toHex(digest.digest()));
+    }
+
+    /**
+     * Returns the cached archive of the current build inputs.
+     *
+     * @return path of the cached archive, or null on a cache miss
+     */
+    public Path getCachedArchive() {
+        Path archive = getArchivePath();
+        if (Files.isRegularFile(archive)) {
+            log.info("Found micro-gw build output in the build cache: " + archive);
+            return archive;
+        }
+        log.info("micro-gw build output is not in the build cache, key: " + key);
+        return null;
+    }
+
+    /**
+     * Store the built archive in the cache. Failures are logged and otherwise ignored, since the build has already
+     * succeeded.
+     *
+     * @param builtArchive path of the archive created by micro-gw build
+     */
+    public void store(Path builtArchive) {
+        Path archive = getArchivePath();
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(cacheDir, key, ".tmp");
+            Files.copy(builtArchive, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tempFile, archive, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, archive, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.info("Stored micro-gw build output in the build cache: " + archive);
+        } catch (IOException e) {
+            log.warn("Failed to store micro-gw build output in the build cache: " + archive, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temporary file " + tempFile, e);
+                }
+            }
+        }
+    }
+
+    private Path getArchivePath() {
+        return cacheDir.resolve(key + ".zip");
+    }
+
+    private static void update(MessageDigest digest, byte[] bytes) {
+        digest.update(bytes);
+        // Separate the inputs so that moving bytes between them changes the key
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
@@ -18,14 +18,17 @@
 
 package io.cellery.cell.gateway.initializer.internals;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cellery.cell.gateway.initializer.beans.controller.APIMConfig;
 import io.cellery.cell.gateway.initializer.beans.controller.Cell;
 import io.cellery.cell.gateway.initializer.beans.controller.RestConfig;
+import io.cellery.cell.gateway.initializer.beans.response.ClientRegistrationResponse;
+import io.cellery.cell.gateway.initializer.beans.response.TokenResponse;
 import io.cellery.cell.gateway.initializer.exceptions.APIException;
+import io.cellery.cell.gateway.initializer.utils.ApimEndpoint;
+import io.cellery.cell.gateway.initializer.utils.ApimResponse;
 import io.cellery.cell.gateway.initializer.utils.Constants;
+import io.cellery.cell.gateway.initializer.utils.JsonCodec;
 import io.cellery.cell.gateway.initializer.utils.RequestProcessor;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -143,8 +146,7 @@ public class ConfigManager {
         if (log.isDebugEnabled()) {
             log.debug("Reading cell configuration file: " + Constants.Utils.CELL_CONFIGURATION_FILE_PATH);
         }
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(new File(Constants.Utils.CELL_CONFIGURATION_FILE_PATH), Cell.class);
+        return JsonCodec.CELL_READER.readValue(new File(Constants.Utils.CELL_CONFIGURATION_FILE_PATH));
     }
 
     /**
@@ -156,8 +158,7 @@ public class ConfigManager {
         if (log.isDebugEnabled()) {
             log.debug("Reading global configuration file: " + Constants.Utils.REST_CONFIGURATION_FILE_PATH);
         }
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(new File(Constants.Utils.REST_CONFIGURATION_FILE_PATH), RestConfig.class);
+        return JsonCodec.REST_CONFIG_READER.readValue(new File(Constants.Utils.REST_CONFIGURATION_FILE_PATH));
     }
 
     /**
@@ -188,16 +189,16 @@ public class ConfigManager {
         }
         RequestProcessor requestProcessor = new RequestProcessor();
         String apimBaseURL = restConfig.getApimBaseUrl();
-        String applicationResponse = requestProcessor
-                .doPost(apimBaseURL + Constants.Utils.PATH_CLIENT_REGISTRATION + restConfig.getApiVersion() +
+        ApimResponse<ClientRegistrationResponse> applicationResponse = requestProcessor
+                .doPost(ApimEndpoint.DCR,
+                        apimBaseURL + Constants.Utils.PATH_CLIENT_REGISTRATION + restConfig.getApiVersion() +
                                 Constants.Utils.PATH_REGISTER, Constants.Utils.CONTENT_TYPE_APPLICATION_JSON,
                         Constants.Utils.CONTENT_TYPE_APPLICATION_JSON, Constants.Utils.BASIC + authHeader,
-                        restConfig.getRegisterPayload().toJSONString());
+                        restConfig.getRegisterPayload().toJSONString(), ClientRegistrationResponse.class);
 
-        if (applicationResponse != null) {
-            JSONObject jsonObj = new JSONObject(applicationResponse);
-            apimConfig.setClientId(jsonObj.getString(Constants.Utils.CLIENT_ID));
-            apimConfig.setClientSecret(jsonObj.getString(Constants.Utils.CLIENT_SECRET));
+        if (applicationResponse.isSuccess() && applicationResponse.getBody() != null) {
+            apimConfig.setClientId(applicationResponse.getBody().getClientId());
+            apimConfig.setClientSecret(applicationResponse.getBody().getClientSecret());
         }
     }
 
@@ -226,16 +227,17 @@ public class ConfigManager {
     private static String getToken(String tokenPayload) throws APIException {
         RequestProcessor requestProcessor = new RequestProcessor();
         String auth = getBase64EncodedClientIdAndSecret();
-        String apiCreateTokenResponse = requestProcessor
-                .doPost(restConfig.getTokenEndpoint(), Constants.Utils.CONTENT_TYPE_APPLICATION_URL_ENCODED,
-                        Constants.Utils.CONTENT_TYPE_APPLICATION_JSON, Constants.Utils.BASIC + auth, tokenPayload);
-
-        if (apiCreateTokenResponse != null) {
-            JSONObject jsonObj = new JSONObject(apiCreateTokenResponse);
-            return jsonObj.getString(Constants.Utils.ACCESS_TOKEN);
+        ApimResponse<TokenResponse> apiCreateTokenResponse = requestProcessor
+                .doPost(ApimEndpoint.TOKEN, restConfig.getTokenEndpoint(),
+                        Constants.Utils.CONTENT_TYPE_APPLICATION_URL_ENCODED,
+                        Constants.Utils.CONTENT_TYPE_APPLICATION_JSON, Constants.Utils.BASIC + auth, tokenPayload,
+                        TokenResponse.class);
+
+        if (apiCreateTokenResponse.isSuccess() && apiCreateTokenResponse.getBody() != null) {
+            return apiCreateTokenResponse.getBody().getAccessToken();
         } else {
-            throw new APIException(
-                    "Error while generating the access token from token endpoint: " + restConfig.getTokenEndpoint());
+            throw new APIException("Error while generating the access token from token endpoint: " +
+                    restConfig.getTokenEndpoint() + ", " + apiCreateTokenResponse.getErrorMessage());
         }
     }
 
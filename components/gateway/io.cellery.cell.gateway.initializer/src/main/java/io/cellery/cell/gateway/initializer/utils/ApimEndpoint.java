@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+/**
+ * Classes of API Manager endpoints called by the gateway initializer, used to apply per class timeouts.
+ */
+public enum ApimEndpoint {
+    DCR("dcr"),
+    TOKEN("token"),
+    CREATE("create"),
+    LIFECYCLE("lifecycle");
+
+    private final String configKey;
+
+    ApimEndpoint(String configKey) {
+        this.configKey = configKey;
+    }
+
+    /**
+     * Returns the key under which the timeouts of the endpoint are configured.
+     *
+     * @return configuration key
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+}
@@ -18,6 +18,10 @@
 
 package io.cellery.cell.gateway.initializer.utils;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * This class represents the constants.
  */
@@ -48,6 +52,8 @@ public class Constants {
         public static final String TOKEN_ENDPOINT = "tokenEndpoint";
         public static final String NAME = "name";
         public static final String DESCRIPTION = "description";
+        public static final String CODE = "code";
+        public static final String MESSAGE = "message";
         public static final String IS_DEFAULT_VERSION = "isDefaultVersion";
         public static final String TRANSPORT = "transport";
         public static final String TIERS = "tiers";
@@ -74,6 +80,31 @@ public class Constants {
         public static final String SWAGGER = "swagger";
         public static final String ADDITIONAL_PROPERTIES = "additionalProperties";
         public static final String NONE = "None";
+        public static final String RETRY = "retry";
+        public static final String MAX_ATTEMPTS = "maxAttempts";
+        public static final String BASE_DELAY = "baseDelay";
+        public static final String MAX_DELAY = "maxDelay";
+        public static final String JITTER = "jitter";
+        public static final String RETRYABLE_STATUS_CODES = "retryableStatusCodes";
+        public static final String CIRCUIT_BREAKER = "circuitBreaker";
+        public static final String WINDOW_SIZE = "windowSize";
+        public static final String MINIMUM_CALLS = "minimumCalls";
+        public static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+        public static final String OPEN_DURATION = "openDuration";
+        public static final String HALF_OPEN_PROBES = "halfOpenProbes";
+        public static final String TIMEOUTS = "timeouts";
+        public static final String CONNECT_TIMEOUT = "connectTimeout";
+        public static final String SOCKET_TIMEOUT = "socketTimeout";
+        public static final String CONNECTION_REQUEST_TIMEOUT = "connectionRequestTimeout";
+        public static final String ENDPOINTS = "endpoints";
+        public static final String MICROGATEWAY = "microGateway";
+        public static final String SETUP_TIMEOUT = "setupTimeout";
+        public static final String BUILD_TIMEOUT = "buildTimeout";
+        public static final String BUILD_CACHE_DIR = "buildCacheDir";
+        public static final String EXTRACTION_PARALLELISM = "extractionParallelism";
+        public static final String COMPACT_SWAGGER = "compactSwagger";
+        public static final String MAX_CONCURRENT_APIS = "maxConcurrentApis";
+        public static final String METRICS_FILE = "metricsFile";
     }
 
     /**
@@ -102,16 +133,56 @@ public class Constants {
         public static final String WILDCARD_PATTERN = "/*";
         public static final String TOKEN_PAYLOAD = "grant_type=password&username=$USER&password=$PASS" +
                 "&scope=apim:api_create apim:api_publish apim:label_manage";
+        public static final String HTTP_RES_HEADER_RETRY_AFTER = "Retry-After";
+        public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+        // Retry defaults
+        public static final int DEFAULT_RETRY_MAX_ATTEMPTS = 3;
+        public static final long DEFAULT_RETRY_BASE_DELAY_MILLIS = 500;
+        public static final long DEFAULT_RETRY_MAX_DELAY_MILLIS = 10000;
+        public static final double DEFAULT_RETRY_JITTER = 0.5;
+        public static final List<Integer> DEFAULT_RETRYABLE_STATUS_CODES =
+                Collections.unmodifiableList(Arrays.asList(429, 502, 503, 504));
+
+        // Circuit breaker defaults
+        public static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+        public static final int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 5;
+        public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 50;
+        public static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MILLIS = 30000;
+        public static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES = 2;
+
+        // Timeout defaults
+        public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+        public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 60000;
+        public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10000;
+
+        // Concurrency defaults
+        public static final int DEFAULT_MAX_CONCURRENT_APIS = 4;
+        public static final String WORKER_THREAD_NAME_PREFIX = "gateway-init-worker-";
+        public static final String TASK_THREAD_NAME_PREFIX = "gateway-init-task-";
+
+        // Latency histograms
+        public static final String LATENCY_MBEAN_DOMAIN = "io.cellery.cell.gateway.initializer";
+        public static final String LATENCY_DUMP_THREAD_NAME = "gateway-init-latency-dump";
+
+        // Micro-GW process defaults
+        public static final long DEFAULT_MICROGATEWAY_SETUP_TIMEOUT_MILLIS = 300000;
+        public static final long DEFAULT_MICROGATEWAY_BUILD_TIMEOUT_MILLIS = 900000;
+        public static final long PROCESS_DRAIN_TIMEOUT_MILLIS = 5000;
+        public static final int ZIP_READ_BUFFER_SIZE = 64 * 1024;
+        public static final int DEFAULT_EXTRACTION_PARALLELISM = 0;
 
         // Config map file paths
         public static final String CELL_CONFIGURATION_FILE_PATH = "/etc/config/api.json";
         public static final String REST_CONFIGURATION_FILE_PATH = "/etc/config/gw.json";
         public static final String MICROGATEWAY_PATH = "/wso2am-micro-gw-2.6.1-feature-multi-swagger/bin/micro-gw";
         public static final String HOME_PATH = "/";
-        public static final String UNZIP_FILE_PATH = "/unzip";
         public static final String MOUNT_FILE_PATH = "/target";
+        public static final String STAGING_FOLDER_NAME = ".staging";
+        public static final String PREVIOUS_FOLDER_NAME = ".previous";
         public static final String API_CONFIG_PATH = "/apiconfig.json";
         public static final String SWAGGER_FOLDER = "/swagger/";
+        public static final String BUILD_CACHE_PATH = "/var/cellery/micro-gw-cache";
 
         // Token constants
         public static final String CLIENT_ID = "clientId";
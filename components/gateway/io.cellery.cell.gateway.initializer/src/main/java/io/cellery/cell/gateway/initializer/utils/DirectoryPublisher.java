@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Publishes a folder tree into the mount location through renames instead of a recursive copy. The tree is staged in
+ * a hidden folder inside the mount location, which is the only location guaranteed to be on the same file system,
+ * and each top level entry is then moved into place atomically. The bin folder is moved last so that the gateway
+ * executable only appears once the rest of the tree is in place.
+ */
+public class DirectoryPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryPublisher.class);
+
+    private DirectoryPublisher() {
+    }
+
+    /**
+     * Create an empty staging folder inside the mount location, removing anything left behind by an earlier run.
+     *
+     * @param mountFolder mount location
+     * @return staging folder
+     * @throws IOException if the staging folder could not be created
+     */
+    public static Path createStagingFolder(Path mountFolder) throws IOException {
+        Path stagingFolder = mountFolder.resolve(Constants.Utils.STAGING_FOLDER_NAME);
+        deleteRecursively(stagingFolder);
+        deleteRecursively(mountFolder.resolve(Constants.Utils.PREVIOUS_FOLDER_NAME));
+        Files.createDirectories(stagingFolder);
+        return stagingFolder;
+    }
+
+    /**
+     * Move the staged tree into the mount location, replacing existing entries of the same name.
+     *
+     * @param stagingFolder staging folder created by {@link #createStagingFolder(Path)}
+     * @param mountFolder   mount location
+     * @throws IOException if the tree could not be published
+     */
+    public static void publish(Path stagingFolder, Path mountFolder) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> children = Files.list(stagingFolder)) {
+            entries = children.sorted((first, second) -> Boolean.compare(isBinFolder(first), isBinFolder(second)))
+                    .collect(Collectors.toList());
+        }
+        Path previousFolder = mountFolder.resolve(Constants.Utils.PREVIOUS_FOLDER_NAME);
+        List<Path> replaced = new ArrayList<>();
+        for (Path entry : entries) {
+            Path destination = mountFolder.resolve(entry.getFileName());
+            if (Files.exists(destination)) {
+                Files.createDirectories(previousFolder);
+                move(destination, previousFolder.resolve(entry.getFileName()));
+                replaced.add(destination);
+            }
+            move(entry, destination);
+        }
+        deleteRecursively(previousFolder);
+        deleteRecursively(stagingFolder);
+        if (!replaced.isEmpty() && log.isDebugEnabled()) {
+            log.debug("Replaced existing entries of the mount location: " + replaced);
+        }
+    }
+
+    /**
+     * Move a file or folder with an atomic rename, copying it when the rename is not supported.
+     */
+    private static void move(Path source, Path destination) throws IOException {
+        try {
+            Files.move(source, destination, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move is not supported from " + source + " to " + destination + ", copying instead");
+            copyRecursively(source, destination);
+            deleteRecursively(source);
+        }
+    }
+
+    private static boolean isBinFolder(Path path) {
+        return "bin".equals(path.getFileName().toString());
+    }
+
+    private static void copyRecursively(Path source, Path destination) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(destination.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, destination.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES,
+                        StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
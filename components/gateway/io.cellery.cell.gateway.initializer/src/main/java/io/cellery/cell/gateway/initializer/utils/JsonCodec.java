@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.cellery.cell.gateway.initializer.beans.controller.Cell;
+import io.cellery.cell.gateway.initializer.beans.controller.RestConfig;
+import io.cellery.cell.gateway.initializer.beans.request.ApiCreateRequest;
+import io.cellery.cell.gateway.initializer.beans.request.Endpoint;
+import io.cellery.cell.gateway.initializer.beans.request.PathsMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Readers and writers of the JSON bean types, all built once from a single mapper.
+ * <p>
+ * Readers and writers are immutable and thread safe, and share the serializer and deserializer caches of the mapper,
+ * so the per API payloads are serialized without building a new mapper or looking up the serializers again. Response
+ * bodies of API Manager are decoded straight from the response stream with readers which are created once per
+ * response type.
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final ObjectWriter API_CREATE_REQUEST_WRITER = MAPPER.writerFor(ApiCreateRequest.class);
+    public static final ObjectWriter PATHS_MAPPING_WRITER = MAPPER.writerFor(PathsMapping.class);
+    public static final ObjectWriter ENDPOINT_WRITER = MAPPER.writerFor(Endpoint.class);
+    public static final ObjectReader CELL_READER = MAPPER.readerFor(Cell.class);
+    public static final ObjectReader REST_CONFIG_READER = MAPPER.readerFor(RestConfig.class);
+
+    private static final Map<Class<?>, ObjectReader> RESPONSE_READERS = new ConcurrentHashMap<>();
+
+    private JsonCodec() {
+    }
+
+    /**
+     * Decode a response body into the given bean type without buffering it. The stream is closed once the body is
+     * decoded.
+     *
+     * @param inputStream response body stream
+     * @param type        bean type of the response body
+     * @param <T>         bean type of the response body
+     * @return decoded body, null if the body is empty
+     * @throws IOException if the body cannot be read or is not valid for the bean type
+     */
+    public static <T> T readResponse(InputStream inputStream, Class<T> type) throws IOException {
+        ObjectReader reader = RESPONSE_READERS.computeIfAbsent(type, MAPPER::readerFor);
+        try (JsonParser parser = reader.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return type.cast(reader.readValue(parser));
+        }
+    }
+}
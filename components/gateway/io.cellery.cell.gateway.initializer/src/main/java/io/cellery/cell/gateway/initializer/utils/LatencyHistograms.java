@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency histograms of the calls made to each API Manager endpoint. The histograms are registered as MBeans and
+ * their percentiles are logged when the process exits.
+ */
+public class LatencyHistograms {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyHistograms.class);
+    private static final Map<ApimEndpoint, LatencyHistogram> histograms = createHistograms();
+
+    private LatencyHistograms() {
+    }
+
+    /**
+     * Record the latency of a call.
+     *
+     * @param endpoint class of the API Manager endpoint
+     * @param micros   latency in microseconds
+     */
+    public static void record(ApimEndpoint endpoint, long micros) {
+        histograms.get(endpoint).record(micros);
+    }
+
+    /**
+     * Returns the latency histogram of an endpoint.
+     *
+     * @param endpoint class of the API Manager endpoint
+     * @return latency histogram
+     */
+    public static LatencyHistogram get(ApimEndpoint endpoint) {
+        return histograms.get(endpoint);
+    }
+
+    /**
+     * Log the percentiles of every endpoint which was called.
+     */
+    public static void dump() {
+        for (Map.Entry<ApimEndpoint, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            log.info(String.format("APIM latency %s: count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms " +
+                            "p99.9=%.1fms max=%.1fms", entry.getKey().getConfigKey(), histogram.getCount(),
+                    histogram.getMean(), histogram.getP50(), histogram.getP90(), histogram.getP99(),
+                    histogram.getP999(), histogram.getMax()));
+        }
+    }
+
+    private static Map<ApimEndpoint, LatencyHistogram> createHistograms() {
+        Map<ApimEndpoint, LatencyHistogram> endpointHistograms = new EnumMap<>(ApimEndpoint.class);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (ApimEndpoint endpoint : ApimEndpoint.values()) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            endpointHistograms.put(endpoint, histogram);
+            try {
+                mBeanServer.registerMBean(histogram, new ObjectName(Constants.Utils.LATENCY_MBEAN_DOMAIN +
+                        ":type=ApimLatency,endpoint=" + endpoint.getConfigKey()));
+            } catch (JMException e) {
+                log.warn("Failed to register the latency histogram of " + endpoint + " in JMX", e);
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(LatencyHistograms::dump,
+                Constants.Utils.LATENCY_DUMP_THREAD_NAME));
+        return endpointHistograms;
+    }
+}
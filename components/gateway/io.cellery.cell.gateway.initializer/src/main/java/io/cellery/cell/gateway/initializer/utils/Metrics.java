@@ -0,0 +1,279 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects the wall time of each phase of the gateway initializer and statistics of the calls made to each API
+ * Manager endpoint, and reports them at the end of the run as a JSON log line and optionally as a Prometheus
+ * textfile.
+ */
+public class Metrics {
+
+    private static final Logger log = LoggerFactory.getLogger(Metrics.class);
+    private static final String PREFIX = "cellery_gateway_init_";
+    private static final Map<String, Long> phases = new ConcurrentHashMap<>();
+    private static final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Record the wall time of a phase.
+     *
+     * @param phase      name of the phase
+     * @param startNanos value of {@link System#nanoTime()} when the phase started
+     * @return wall time of the phase in milliseconds
+     */
+    public static long recordPhase(String phase, long startNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        phases.merge(phase, elapsedMillis, Long::sum);
+        return elapsedMillis;
+    }
+
+    /**
+     * Start recording a call to an API Manager endpoint.
+     *
+     * @param endpoint  class of the API Manager endpoint
+     * @param bytesSent size of the request body
+     * @return call which has to be ended once the call completes
+     */
+    public static Call startCall(ApimEndpoint endpoint, long bytesSent) {
+        return new Call(endpoint, bytesSent);
+    }
+
+    /**
+     * Log the summary of the run and write it to the Prometheus textfile if one is configured.
+     *
+     * @param cell         name of the cell
+     * @param success      whether the run succeeded
+     * @param textfilePath path of the Prometheus textfile, or null or empty to skip it
+     */
+    public static void report(String cell, boolean success, String textfilePath) {
+        log.info("Init container metrics: " + getSummary(cell, success));
+        if (textfilePath == null || textfilePath.isEmpty()) {
+            return;
+        }
+        try {
+            writeTextfile(Paths.get(textfilePath), toPrometheus(cell, success));
+        } catch (IOException e) {
+            log.warn("Failed to write the metrics textfile " + textfilePath, e);
+        }
+    }
+
+    private static JSONObject getSummary(String cell, boolean success) {
+        JSONObject summary = new JSONObject();
+        summary.put("cell", cell);
+        summary.put("success", success);
+        JSONObject phaseSummary = new JSONObject();
+        for (Map.Entry<String, Long> phase : new TreeMap<>(phases).entrySet()) {
+            phaseSummary.put(phase.getKey(), phase.getValue());
+        }
+        summary.put("phasesMillis", phaseSummary);
+        JSONObject callSummary = new JSONObject();
+        for (Map.Entry<String, EndpointStats> endpoint : new TreeMap<>(endpoints).entrySet()) {
+            callSummary.put(endpoint.getKey(), endpoint.getValue().toJson());
+        }
+        summary.put("calls", callSummary);
+        return summary;
+    }
+
+    private static String toPrometheus(String cell, boolean success) {
+        StringBuilder builder = new StringBuilder();
+        String cellLabel = "cell=\"" + escape(cell) + "\"";
+        appendHeader(builder, "success", "gauge", "Whether the last run of the gateway initializer succeeded");
+        builder.append(PREFIX).append("success{").append(cellLabel).append("} ").append(success ? 1 : 0)
+                .append('\n');
+
+        appendHeader(builder, "phase_duration_seconds", "gauge", "Wall time of each phase of the last run");
+        for (Map.Entry<String, Long> phase : new TreeMap<>(phases).entrySet()) {
+            builder.append(PREFIX).append("phase_duration_seconds{").append(cellLabel).append(",phase=\"")
+                    .append(escape(phase.getKey())).append("\"} ").append(phase.getValue() / 1000.0).append('\n');
+        }
+
+        Map<String, EndpointStats> sortedEndpoints = new TreeMap<>(endpoints);
+        appendHeader(builder, "http_requests_total", "counter", "API Manager calls by endpoint and status");
+        for (Map.Entry<String, EndpointStats> endpoint : sortedEndpoints.entrySet()) {
+            String labels = cellLabel + ",endpoint=\"" + endpoint.getKey() + "\"";
+            for (Map.Entry<Integer, Long> status : endpoint.getValue().getStatusCounts().entrySet()) {
+                builder.append(PREFIX).append("http_requests_total{").append(labels).append(",status=\"")
+                        .append(status.getKey()).append("\"} ").append(status.getValue()).append('\n');
+            }
+        }
+        appendEndpointMetric(builder, sortedEndpoints, cellLabel, "http_request_duration_seconds_total", "counter",
+                "Wall time spent in API Manager calls including retries", stats -> stats.totalMillis / 1000.0);
+        appendEndpointMetric(builder, sortedEndpoints, cellLabel, "http_request_duration_seconds_max", "gauge",
+                "Longest API Manager call including retries", stats -> stats.maxMillis / 1000.0);
+        appendEndpointMetric(builder, sortedEndpoints, cellLabel, "http_retries_total", "counter",
+                "Retried API Manager calls", stats -> stats.retries);
+        appendEndpointMetric(builder, sortedEndpoints, cellLabel, "http_sent_bytes_total", "counter",
+                "Bytes sent to API Manager", stats -> stats.bytesSent);
+        appendEndpointMetric(builder, sortedEndpoints, cellLabel, "http_received_bytes_total", "counter",
+                "Bytes received from API Manager", stats -> stats.bytesReceived);
+        return builder.toString();
+    }
+
+    private static void appendHeader(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendEndpointMetric(StringBuilder builder, Map<String, EndpointStats> sortedEndpoints,
+                                             String cellLabel, String name, String type, String help,
+                                             Function<EndpointStats, Number> value) {
+        appendHeader(builder, name, type, help);
+        for (Map.Entry<String, EndpointStats> endpoint : sortedEndpoints.entrySet()) {
+            Number metricValue;
+            synchronized (endpoint.getValue()) {
+                metricValue = value.apply(endpoint.getValue());
+            }
+            builder.append(PREFIX).append(name).append('{').append(cellLabel).append(",endpoint=\"")
+                    .append(endpoint.getKey()).append("\"} ").append(metricValue).append('\n');
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Write the textfile through a temporary file which is renamed over the destination, so that the node exporter
+     * never reads a partial file.
+     */
+    private static void writeTextfile(Path path, String content) throws IOException {
+        Path file = path.toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * A call to an API Manager endpoint, including its retries.
+     */
+    public static class Call {
+        private final ApimEndpoint endpoint;
+        private final long bytesSent;
+        private final long startNanos = System.nanoTime();
+        private int attempts = 0;
+        private int statusCode = 0;
+        private long bytesReceived = 0;
+
+        private Call(ApimEndpoint endpoint, long bytesSent) {
+            this.endpoint = endpoint;
+            this.bytesSent = Math.max(0, bytesSent);
+        }
+
+        /**
+         * Record the start of an attempt.
+         */
+        public void attempt() {
+            attempts++;
+        }
+
+        /**
+         * Record the response of an attempt.
+         *
+         * @param statusCode    http status code
+         * @param bytesReceived size of the response body
+         */
+        public void response(int statusCode, long bytesReceived) {
+            this.statusCode = statusCode;
+            this.bytesReceived += Math.max(0, bytesReceived);
+        }
+
+        /**
+         * End the call. A call which never got a response is recorded with status 0.
+         */
+        public void end() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            endpoints.computeIfAbsent(endpoint.getConfigKey(), key -> new EndpointStats())
+                    .record(statusCode, elapsedMillis, bytesSent * attempts, bytesReceived,
+                            Math.max(0, attempts - 1));
+        }
+    }
+
+    /**
+     * Aggregated statistics of the calls made to an endpoint.
+     */
+    private static class EndpointStats {
+        private long calls;
+        private long totalMillis;
+        private long maxMillis;
+        private long bytesSent;
+        private long bytesReceived;
+        private long retries;
+        private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+        private synchronized void record(int statusCode, long elapsedMillis, long sent, long received,
+                                         int retried) {
+            calls++;
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            bytesSent += sent;
+            bytesReceived += received;
+            retries += retried;
+            statusCounts.merge(statusCode, 1L, Long::sum);
+        }
+
+        private synchronized Map<Integer, Long> getStatusCounts() {
+            return new TreeMap<>(statusCounts);
+        }
+
+        private synchronized JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            json.put("calls", calls);
+            json.put("totalMillis", totalMillis);
+            json.put("maxMillis", maxMillis);
+            json.put("bytesSent", bytesSent);
+            json.put("bytesReceived", bytesReceived);
+            json.put("retries", retries);
+            JSONObject statuses = new JSONObject();
+            for (Map.Entry<Integer, Long> status : statusCounts.entrySet()) {
+                statuses.put(String.valueOf(status.getKey()), status.getValue());
+            }
+            json.put("statusCodes", statuses);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs an external command, draining its stdout and stderr at the same time on separate threads so that the child
+ * never blocks on a full pipe. The command has to complete within the given timeout with a zero exit code.
+ */
+public class ProcessRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessRunner.class);
+
+    private ProcessRunner() {
+    }
+
+    /**
+     * Run the command and wait for it to complete.
+     *
+     * @param phase         name of the phase the command belongs to, used in logs and errors
+     * @param timeoutMillis maximum time the command may run in milliseconds
+     * @param command       command and its arguments
+     * @return time taken by the command in milliseconds
+     * @throws IOException          if the command could not be started, timed out or exited with a non-zero code
+     * @throws InterruptedException if interrupted while waiting for the command, in which case it is terminated
+     */
+    public static long run(String phase, long timeoutMillis, String... command)
+            throws IOException, InterruptedException {
+        long startTime = System.nanoTime();
+        Process process = new ProcessBuilder(command).start();
+        Thread stdoutDrainer = startDrainer(phase + "-stdout", process.getInputStream(), log::info);
+        Thread stderrDrainer = startDrainer(phase + "-stderr", process.getErrorStream(), log::error);
+
+        try {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                stdoutDrainer.join(Constants.Utils.PROCESS_DRAIN_TIMEOUT_MILLIS);
+                stderrDrainer.join(Constants.Utils.PROCESS_DRAIN_TIMEOUT_MILLIS);
+                throw new IOException(phase + " did not complete within " + timeoutMillis + " ms");
+            }
+            stdoutDrainer.join(Constants.Utils.PROCESS_DRAIN_TIMEOUT_MILLIS);
+            stderrDrainer.join(Constants.Utils.PROCESS_DRAIN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            // Do not leave the command running once nobody is waiting for it
+            log.warn(phase + " was interrupted, terminating the command");
+            process.destroyForcibly();
+            throw e;
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        int exitCode = process.exitValue();
+        if (exitCode != 0) {
+            throw new IOException(phase + " failed with exit code " + exitCode + " after " + elapsedMillis + " ms");
+        }
+        log.info(phase + " completed in " + elapsedMillis + " ms");
+        return elapsedMillis;
+    }
+
+    /**
+     * Start a daemon thread which reads the stream line by line until EOF.
+     *
+     * @param name   name of the thread
+     * @param stream stream to drain
+     * @param sink   consumer of each line
+     * @return started thread
+     */
+    private static Thread startDrainer(String name, InputStream stream, Consumer<String> sink) {
+        Thread drainer = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    sink.accept(line);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read the output of " + name, e);
+            }
+        }, name);
+        drainer.setDaemon(true);
+        drainer.start();
+        return drainer;
+    }
+}
@@ -18,11 +18,22 @@
 
 package io.cellery.cell.gateway.initializer.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.cellery.cell.gateway.initializer.beans.controller.EndpointTimeoutConfig;
+import io.cellery.cell.gateway.initializer.beans.controller.TimeoutConfig;
+import io.cellery.cell.gateway.initializer.beans.response.ErrorResponse;
 import io.cellery.cell.gateway.initializer.exceptions.APIException;
+import io.cellery.cell.gateway.initializer.internals.ConfigManager;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -38,6 +49,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
@@ -49,8 +61,12 @@ public class RequestProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(RequestProcessor.class);
     private CloseableHttpClient httpClient;
+    private RetryPolicy retryPolicy;
+    private TimeoutConfig timeoutConfig;
 
     public RequestProcessor() throws APIException {
+        retryPolicy = new RetryPolicy(ConfigManager.getRestConfiguration().getRetry());
+        timeoutConfig = ConfigManager.getRestConfiguration().getTimeouts();
         try {
             if (log.isDebugEnabled()) {
                 log.debug("Ignoring SSL verification...");
@@ -75,6 +91,7 @@ public class RequestProcessor {
     /**
      * Execute http get request.
      *
+     * @param endpoint    class of the API Manager endpoint
      * @param url         url
      * @param contentType content type
      * @param acceptType  accept type
@@ -82,8 +99,8 @@ public class RequestProcessor {
      * @return Closable http response
      * @throws APIException Api exception when an error occurred
      */
-    public CloseableHttpResponse doGet(String url, String contentType, String acceptType, String authHeader)
-            throws APIException {
+    public CloseableHttpResponse doGet(ApimEndpoint endpoint, String url, String contentType, String acceptType,
+                                       String authHeader) throws APIException {
 
         CloseableHttpResponse response;
         try {
@@ -91,6 +108,7 @@ public class RequestProcessor {
             httpGet.setHeader(Constants.Utils.HTTP_CONTENT_TYPE, contentType);
             httpGet.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
             httpGet.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
+            httpGet.setConfig(getRequestConfig(endpoint));
 
             response = httpClient.execute(httpGet);
             closeClientConnection();
@@ -105,17 +123,20 @@ public class RequestProcessor {
     /**
      * Execute http post request
      *
-     * @param url         url
-     * @param contentType content type
-     * @param acceptType  accept type
-     * @param authHeader  authorization header
-     * @param payload     post payload
-     * @return Closable http response
-     * @throws APIException Api exception when an error occurred
+     * @param endpoint     class of the API Manager endpoint
+     * @param url          url
+     * @param contentType  content type
+     * @param acceptType   accept type
+     * @param authHeader   authorization header
+     * @param payload      post payload
+     * @param responseType bean type of a successful response body
+     * @param <T>          bean type of a successful response body
+     * @return status code and decoded body of the response
+     * @throws APIException Api exception when an error occurred or the response cannot be decoded
      */
-    public String doPost(String url, String contentType, String acceptType, String authHeader, String payload)
-            throws APIException {
-        String returnObj = null;
+    public <T> ApimResponse<T> doPost(ApimEndpoint endpoint, String url, String contentType, String acceptType,
+                                      String authHeader, String payload, Class<T> responseType) throws APIException {
+        HttpResult<T> result;
         try {
             if (log.isDebugEnabled()) {
                 log.debug("Post payload: " + payload);
@@ -127,18 +148,13 @@ public class RequestProcessor {
             httpPost.setHeader(Constants.Utils.HTTP_RESPONSE_TYPE_ACCEPT, acceptType);
             httpPost.setHeader(Constants.Utils.HTTP_REQ_HEADER_AUTHZ, authHeader);
             httpPost.setEntity(payloadEntity);
+            httpPost.setConfig(getRequestConfig(endpoint));
 
-            CloseableHttpResponse response = httpClient.execute(httpPost);
-            HttpEntity entity = response.getEntity();
-            String responseStr = EntityUtils.toString(entity);
-            int statusCode = response.getStatusLine().getStatusCode();
-
-            if (log.isDebugEnabled()) {
-                log.debug("Response status code: " + statusCode);
-                log.debug("Response string : " + responseStr);
-            }
-            if (responseValidate(statusCode, responseStr)) {
-                returnObj = responseStr;
+            Metrics.Call call = Metrics.startCall(endpoint, payloadEntity.getContentLength());
+            try {
+                result = executeWithRetry(httpPost, endpoint, responseType, call);
+            } finally {
+                call.end();
             }
             closeClientConnection();
         } catch (IOException e) {
@@ -146,7 +162,212 @@ public class RequestProcessor {
             log.error(errorMessage, e);
             throw new APIException(errorMessage, e);
         }
-        return returnObj;
+        if (result.decodeError != null) {
+            throw new APIException("Error while decoding the response of " + url, result.decodeError);
+        }
+        return result.response;
+    }
+
+    /**
+     * Execute the http request, retrying connection failures and retryable status codes according to the retry
+     * policy.
+     *
+     * @param request      http request
+     * @param endpoint     class of the API Manager endpoint
+     * @param responseType bean type of a successful response body
+     * @param call         metrics of the call
+     * @param <T>          bean type of a successful response body
+     * @return decoded response of the last attempt
+     * @throws IOException  IO exception when the request could not be executed
+     * @throws APIException Api exception when interrupted while waiting to retry
+     */
+    private <T> HttpResult<T> executeWithRetry(HttpRequestBase request, ApimEndpoint endpoint, Class<T> responseType,
+                                               Metrics.Call call) throws IOException, APIException {
+        CircuitBreaker circuitBreaker = CircuitBreaker.forHost(request.getURI().getAuthority(),
+                ConfigManager.getRestConfiguration().getCircuitBreaker());
+        int attempt = 1;
+        while (true) {
+            long delay;
+            circuitBreaker.acquirePermission();
+            call.attempt();
+            boolean outcomeRecorded = false;
+            try {
+                HttpResult<T> result = executeOnce(request, endpoint, responseType);
+                int statusCode = result.response.getStatusCode();
+                call.response(statusCode, result.bytesReceived);
+                if (isServerFailure(statusCode)) {
+                    circuitBreaker.onFailure("HTTP status " + statusCode);
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                outcomeRecorded = true;
+                if (!retryPolicy.isRetryable(statusCode) || !retryPolicy.canRetry(attempt)) {
+                    return result;
+                }
+                delay = retryPolicy.getDelay(attempt, result.retryAfter);
+                log.warn(request.getMethod() + " " + request.getURI() + " returned status " + statusCode +
+                        ", retrying in " + delay + " ms (attempt " + attempt + ")");
+            } catch (ConnectionPoolTimeoutException e) {
+                // The request never left this process, so the API Manager is not to blame
+                throw e;
+            } catch (IOException e) {
+                circuitBreaker.onFailure(e.toString());
+                outcomeRecorded = true;
+                if (!retryPolicy.isRetryable(e, request.getMethod()) || !retryPolicy.canRetry(attempt)) {
+                    throw e;
+                }
+                delay = retryPolicy.getDelay(attempt, -1);
+                log.warn(request.getMethod() + " " + request.getURI() + " failed with " +
+                        e.getClass().getSimpleName() + ", retrying in " + delay + " ms (attempt " + attempt + ")");
+            } finally {
+                if (!outcomeRecorded) {
+                    circuitBreaker.releasePermission();
+                }
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new APIException("Interrupted while waiting to retry " + request.getURI(), e);
+            }
+            attempt++;
+        }
+    }
+
+    /**
+     * Execute the http request once and decode the response. The body is decoded straight from the response stream,
+     * into the response type for a successful response and into an {@link ErrorResponse} otherwise, without reading
+     * it into a string first. The latency of the attempt, including decoding the response, is recorded in the latency
+     * histogram of the endpoint whether or not it succeeds.
+     *
+     * @param request      http request
+     * @param endpoint     class of the API Manager endpoint
+     * @param responseType bean type of a successful response body
+     * @param <T>          bean type of a successful response body
+     * @return decoded response
+     * @throws IOException IO exception when the request could not be executed
+     */
+    private <T> HttpResult<T> executeOnce(HttpRequestBase request, ApimEndpoint endpoint, Class<T> responseType)
+            throws IOException {
+        long startTime = System.nanoTime();
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (log.isDebugEnabled()) {
+                log.debug("Response status code: " + statusCode);
+            }
+            CountingInputStream content = entity != null ? new CountingInputStream(entity.getContent()) : null;
+            ApimResponse<T> apimResponse;
+            JsonProcessingException decodeError = null;
+            try {
+                if (ApimResponse.isSuccess(statusCode)) {
+                    T body = null;
+                    if (content != null && responseType != Void.class) {
+                        body = JsonCodec.readResponse(content, responseType);
+                    }
+                    apimResponse = ApimResponse.success(statusCode, body);
+                } else {
+                    apimResponse = ApimResponse.failure(statusCode, readError(content));
+                    if (log.isDebugEnabled()) {
+                        log.debug("Response error: " + apimResponse.getErrorMessage());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                apimResponse = ApimResponse.failure(statusCode, null);
+                decodeError = e;
+            } finally {
+                EntityUtils.consume(entity);
+            }
+            long bytesReceived = 0;
+            if (entity != null) {
+                bytesReceived = entity.getContentLength() >= 0 ? entity.getContentLength() : content.getByteCount();
+            }
+            return new HttpResult<>(apimResponse, getRetryAfter(response), bytesReceived, decodeError);
+        } finally {
+            LatencyHistograms.record(endpoint, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * Decode the error body of a failed response. Errors which are not returned by API Manager itself, such as the
+     * error pages of a proxy, do not have a JSON error body.
+     *
+     * @param content response body stream
+     * @return error body, null if the response does not have a JSON error body
+     * @throws IOException IO exception when the body could not be read
+     */
+    private static ErrorResponse readError(CountingInputStream content) throws IOException {
+        if (content == null) {
+            return null;
+        }
+        try {
+            return JsonCodec.readResponse(content, ErrorResponse.class);
+        } catch (JsonProcessingException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Response does not have a JSON error body", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Build the request configuration with the timeouts of the endpoint class, falling back to the default timeouts
+     * for values which are not configured for the endpoint.
+     *
+     * @param endpoint class of the API Manager endpoint
+     * @return request configuration
+     */
+    private RequestConfig getRequestConfig(ApimEndpoint endpoint) {
+        EndpointTimeoutConfig endpointTimeouts = timeoutConfig.getEndpoints().get(endpoint.getConfigKey());
+        int connectTimeout = timeoutConfig.getConnectTimeout();
+        int socketTimeout = timeoutConfig.getSocketTimeout();
+        int connectionRequestTimeout = timeoutConfig.getConnectionRequestTimeout();
+        if (endpointTimeouts != null) {
+            if (endpointTimeouts.getConnectTimeout() != null) {
+                connectTimeout = endpointTimeouts.getConnectTimeout();
+            }
+            if (endpointTimeouts.getSocketTimeout() != null) {
+                socketTimeout = endpointTimeouts.getSocketTimeout();
+            }
+            if (endpointTimeouts.getConnectionRequestTimeout() != null) {
+                connectionRequestTimeout = endpointTimeouts.getConnectionRequestTimeout();
+            }
+        }
+        return RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+    }
+
+    /**
+     * Check whether the status code shows that API Manager is failing or overloaded, as opposed to rejecting the
+     * request itself.
+     *
+     * @param statusCode http status code
+     * @return true if the status code counts as a failure of API Manager
+     */
+    private static boolean isServerFailure(int statusCode) {
+        return statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR ||
+                statusCode == Constants.Utils.HTTP_TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Read the delay requested by the server through the Retry-After header.
+     *
+     * @param response http response
+     * @return delay in milliseconds, -1 if the header is not available or not in seconds
+     */
+    private static long getRetryAfter(HttpResponse response) {
+        Header retryAfterHeader = response.getFirstHeader(Constants.Utils.HTTP_RES_HEADER_RETRY_AFTER);
+        if (retryAfterHeader != null) {
+            try {
+                return Long.parseLong(retryAfterHeader.getValue().trim()) * 1000;
+            } catch (NumberFormatException e) {
+                // Retry-After can also be a http date, fall back to the retry policy.
+            }
+        }
+        return -1;
     }
 
     /**
@@ -166,57 +387,21 @@ public class RequestProcessor {
     }
 
     /**
-     * Validate the http response.
-     * @param statusCode status code
-     * @return boolean to validate response
+     * Decoded response of an http request, the retry delay requested by the server and the size of the response body.
      */
-    private boolean responseValidate(int statusCode, String response) throws IOException {
-        boolean isValid = false;
-        switch (statusCode) {
-            case HttpURLConnection.HTTP_OK:
-                isValid = true;
-                break;
-            case HttpURLConnection.HTTP_CREATED:
-                isValid = true;
-                break;
-            case HttpURLConnection.HTTP_ACCEPTED:
-                isValid = true;
-                break;
-            case HttpURLConnection.HTTP_BAD_REQUEST:
-                if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-                    if (response.contains(Constants.Utils.DIFFERENT_CONTEXT_ERROR) ||
-                        response.contains(Constants.Utils.DUPLICATE_CONTEXT_ERROR)) {
-                        // skip the error when trying to add the same api with different context.
-                        isValid = true;
-                    }
-                }
-                break;
-            case HttpURLConnection.HTTP_UNAUTHORIZED:
-                isValid = false;
-                break;
-            case HttpURLConnection.HTTP_NOT_FOUND:
-                isValid = false;
-                break;
-            case HttpURLConnection.HTTP_CONFLICT:
-                if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-                    if (response.contains(Constants.Utils.DUPLICATE_API_ERROR)) {
-                        // skip the error when trying to add the same api.
-                        isValid = true;
-                    }
-                }
-                break;
-            case HttpURLConnection.HTTP_INTERNAL_ERROR:
-                if (response != null && !Constants.Utils.EMPTY_STRING.equals(response)) {
-                    if (response.contains(Constants.Utils.DUPLICATE_LABEL_ERROR)) {
-                        // skip the error when trying to add the same label.
-                        isValid = true;
-                    }
-                }
-                break;
-            default:
-                isValid = false;
+    private static class HttpResult<T> {
+        private final ApimResponse<T> response;
+        private final long retryAfter;
+        private final long bytesReceived;
+        private final JsonProcessingException decodeError;
+
+        private HttpResult(ApimResponse<T> response, long retryAfter, long bytesReceived,
+                           JsonProcessingException decodeError) {
+            this.response = response;
+            this.retryAfter = retryAfter;
+            this.bytesReceived = bytesReceived;
+            this.decodeError = decodeError;
         }
-        return isValid;
     }
 
     /**
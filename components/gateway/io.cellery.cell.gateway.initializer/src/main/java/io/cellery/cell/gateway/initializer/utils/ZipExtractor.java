@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.cell.gateway.initializer.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts the entries of a zip archive which are under a folder prefix into a destination folder, either streaming
+ * the archive sequentially or reading the entries in parallel through random access.
+ */
+public class ZipExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(ZipExtractor.class);
+
+    private ZipExtractor() {
+    }
+
+    /**
+     * Extract the archive.
+     *
+     * @param archive     path of the zip archive
+     * @param prefix      folder prefix of the entries to extract, removed from the extracted paths
+     * @param destination destination folder
+     * @param parallelism number of threads extracting entries, 1 to stream the archive sequentially
+     * @throws IOException if an error occurred while extracting the archive
+     */
+    public static void extract(Path archive, String prefix, Path destination, int parallelism) throws IOException {
+        long startTime = System.nanoTime();
+        Path destinationFolder = destination.toAbsolutePath().normalize();
+        Files.createDirectories(destinationFolder);
+        if (parallelism > 1) {
+            extractInParallel(archive, prefix, destinationFolder, parallelism);
+        } else {
+            extractSequentially(archive, prefix, destinationFolder);
+        }
+        log.info("Extracted " + archive + " to " + destinationFolder + " in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+    }
+
+    /**
+     * Stream the archive and extract each entry as it is read.
+     */
+    private static void extractSequentially(Path archive, String prefix, Path destinationFolder) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(archive),
+                Constants.Utils.ZIP_READ_BUFFER_SIZE);
+             ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                Path newFile = resolve(zipEntry, prefix, destinationFolder);
+                if (newFile == null) {
+                    continue;
+                }
+                if (zipEntry.isDirectory()) {
+                    Files.createDirectories(newFile);
+                } else {
+                    Files.createDirectories(newFile.getParent());
+                    Files.copy(zipInputStream, newFile, StandardCopyOption.REPLACE_EXISTING);
+                    setExecutableIfBinary(newFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the archive for random access, create all folders once and extract the files in parallel on a fork join
+     * pool.
+     */
+    private static void extractInParallel(Path archive, String prefix, Path destinationFolder, int parallelism)
+            throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            List<ZipEntry> files = new ArrayList<>();
+            List<Path> filePaths = new ArrayList<>();
+            TreeSet<Path> folders = new TreeSet<>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry zipEntry = entries.nextElement();
+                Path newFile = resolve(zipEntry, prefix, destinationFolder);
+                if (newFile == null) {
+                    continue;
+                }
+                if (zipEntry.isDirectory()) {
+                    folders.add(newFile);
+                } else {
+                    folders.add(newFile.getParent());
+                    files.add(zipEntry);
+                    filePaths.add(newFile);
+                }
+            }
+            for (Path folder : folders) {
+                Files.createDirectories(folder);
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, files.size()).parallel().forEach(i -> {
+                    try (InputStream inputStream = zipFile.getInputStream(files.get(i))) {
+                        Files.copy(inputStream, filePaths.get(i), StandardCopyOption.REPLACE_EXISTING);
+                        setExecutableIfBinary(filePaths.get(i));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })).get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                throw new IOException("Error occurred while extracting " + archive, cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while extracting " + archive, e);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Resolve the path of the entry in the destination folder.
+     *
+     * @return path of the entry, or null if the entry is not under the prefix
+     * @throws IOException if the entry resolves outside of the destination folder
+     */
+    private static Path resolve(ZipEntry zipEntry, String prefix, Path destinationFolder) throws IOException {
+        String entryName = zipEntry.getName();
+        if (!entryName.startsWith(prefix) || entryName.length() == prefix.length()) {
+            return null;
+        }
+        Path newFile = destinationFolder.resolve(entryName.substring(prefix.length())).normalize();
+        if (!newFile.startsWith(destinationFolder)) {
+            throw new IOException("Zip entry " + entryName + " is outside of " + destinationFolder);
+        }
+        return newFile;
+    }
+
+    /**
+     * Mark files in bin folders as executable. java.util.zip does not expose the unix mode stored in the archive, so
+     * the executables of the micro-gw distribution are recognized by their location.
+     */
+    private static void setExecutableIfBinary(Path file) {
+        Path parent = file.getParent();
+        if (parent != null && parent.getFileName() != null && "bin".equals(parent.getFileName().toString())) {
+            if (!file.toFile().setExecutable(true, false)) {
+                log.warn("Failed to make " + file + " executable");
+            }
+        }
+    }
+}